@@ -0,0 +1,103 @@
+#!/usr/bin/env bash
+# Startup benchmark: time-to-ready and RSS for each available startup mode.
+#
+# Modes (skipped when their artifact is missing):
+#   jar          plain fat jar
+#   extracted    extracted layout (build/cds) without a CDS archive
+#   appcds       extracted layout + AppCDS archive (./gradlew cdsArchive)
+#   aot          fat jar with Spring AOT initializers (jar built with -Paot)
+#   aot-appcds   extracted layout + AOT + AppCDS (cdsArchive run with -Paot)
+#   native       GraalVM native image (./gradlew nativeCompile -Pnative)
+#
+# Uses the same database/Keycloak settings as a normal start (environment variables).
+# Results: build/reports/startup/results.json (one JSON object per run).
+set -euo pipefail
+
+JAVA_BIN="${JAVA_BIN:-java}"
+RUNS="${RUNS:-5}"
+PORT="${PORT:-7591}"
+READY_TIMEOUT_S="${READY_TIMEOUT_S:-120}"
+BUILD_DIR="${BUILD_DIR:-build}"
+AOT="${AOT:-false}"
+JAR="$(ls "$BUILD_DIR"/libs/*.jar 2>/dev/null | grep -v -- '-plain.jar' | head -n 1 || true)"
+CDS_DIR="$BUILD_DIR/cds"
+CDS_JAR="$(ls "$CDS_DIR"/*.jar 2>/dev/null | head -n 1 || true)"
+NATIVE_BIN="$BUILD_DIR/native/nativeCompile/user-service"
+REPORT_DIR="$BUILD_DIR/reports/startup"
+RESULTS="$REPORT_DIR/results.json"
+
+mkdir -p "$REPORT_DIR"
+: > "$RESULTS"
+
+now_ms() { date +%s%3N; }
+
+# run_mode <name> <command...>
+run_mode() {
+  local mode="$1"
+  shift
+  local ready_times=() rss_values=()
+  for run in $(seq 1 "$RUNS"); do
+    local start pid ready_ms rss_kb
+    start="$(now_ms)"
+    "$@" --server.port="$PORT" > "$REPORT_DIR/$mode-$run.log" 2>&1 &
+    pid=$!
+    ready_ms=""
+    while kill -0 "$pid" 2>/dev/null; do
+      if curl -fs "http://localhost:$PORT/actuator/health/readiness" > /dev/null 2>&1; then
+        ready_ms=$(( $(now_ms) - start ))
+        break
+      fi
+      if (( $(now_ms) - start > READY_TIMEOUT_S * 1000 )); then
+        break
+      fi
+      sleep 0.05
+    done
+    rss_kb="$(ps -o rss= -p "$pid" 2>/dev/null | tr -d ' ' || true)"
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+
+    if [[ -z "$ready_ms" ]]; then
+      echo "$mode run $run: not ready (see $REPORT_DIR/$mode-$run.log)" >&2
+      continue
+    fi
+    ready_times+=("$ready_ms")
+    rss_values+=("${rss_kb:-0}")
+    printf '{"mode":"%s","run":%d,"readyMs":%d,"rssKb":%d}\n' \
+      "$mode" "$run" "$ready_ms" "${rss_kb:-0}" >> "$RESULTS"
+  done
+
+  if (( ${#ready_times[@]} > 0 )); then
+    printf '%-12s runs=%-3d median ready=%6d ms  median RSS=%6d MB\n' \
+      "$mode" "${#ready_times[@]}" "$(median "${ready_times[@]}")" \
+      "$(( $(median "${rss_values[@]}") / 1024 ))"
+  fi
+}
+
+median() {
+  printf '%s\n' "$@" | sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+if [[ -n "$JAR" ]]; then
+  run_mode jar "$JAVA_BIN" -jar "$JAR"
+  if [[ "$AOT" == "true" ]]; then
+    run_mode aot "$JAVA_BIN" -Dspring.aot.enabled=true -jar "$JAR"
+  fi
+fi
+
+if [[ -n "$CDS_JAR" ]]; then
+  run_mode extracted "$JAVA_BIN" -jar "$CDS_JAR"
+  if [[ -f "$CDS_DIR/application.jsa" ]]; then
+    if [[ "$AOT" == "true" ]]; then
+      run_mode aot-appcds "$JAVA_BIN" -XX:SharedArchiveFile="$CDS_DIR/application.jsa" \
+        -Dspring.aot.enabled=true -jar "$CDS_JAR"
+    else
+      run_mode appcds "$JAVA_BIN" -XX:SharedArchiveFile="$CDS_DIR/application.jsa" -jar "$CDS_JAR"
+    fi
+  fi
+fi
+
+if [[ -x "$NATIVE_BIN" ]]; then
+  run_mode native "$NATIVE_BIN"
+fi
+
+echo "Results written to $RESULTS"
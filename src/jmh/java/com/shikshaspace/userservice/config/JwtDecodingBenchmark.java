@@ -0,0 +1,68 @@
+package com.shikshaspace.userservice.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * Cost of verifying and parsing a Keycloak-style RS256 access token. The key is local, so this
+ * measures signature verification and claim parsing only, not the JWKS fetch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtDecodingBenchmark {
+
+  private NimbusJwtDecoder decoder;
+  private String token;
+
+  @Setup
+  public void setup() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    KeyPair keyPair = generator.generateKeyPair();
+
+    JWTClaimsSet claims =
+        new JWTClaimsSet.Builder()
+            .issuer("http://localhost:8080/realms/shikshaspace")
+            .subject(UUID.randomUUID().toString())
+            .audience("account")
+            .issueTime(Date.from(Instant.now()))
+            .expirationTime(Date.from(Instant.now().plusSeconds(3600)))
+            .claim("preferred_username", "jane.doe")
+            .claim("email", "jane.doe@example.com")
+            .claim("realm_access", Map.of("roles", List.of("user", "offline_access")))
+            .build();
+    SignedJWT jwt =
+        new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("bench").build(), claims);
+    jwt.sign(new RSASSASigner(keyPair.getPrivate()));
+
+    token = jwt.serialize();
+    decoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+  }
+
+  @Benchmark
+  public Jwt decode() {
+    return decoder.decode(token);
+  }
+}
@@ -0,0 +1,49 @@
+package com.shikshaspace.userservice.config;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/** Cost of mapping Keycloak realm roles to authorities, done on every authenticated request. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KeycloakRoleConverterBenchmark {
+
+  private final SecurityConfig.KeycloakRoleConverter converter =
+      new SecurityConfig.KeycloakRoleConverter();
+
+  private Jwt jwt;
+
+  @Setup
+  public void setup() {
+    jwt =
+        Jwt.withTokenValue("token")
+            .header("alg", "RS256")
+            .subject("2f1c6d1e-8f0a-4a51-9a43-3f5d6c7b8e90")
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(300))
+            .claim(
+                "realm_access",
+                Map.of(
+                    "roles",
+                    List.of("user", "offline_access", "uma_authorization", "default-roles")))
+            .build();
+  }
+
+  @Benchmark
+  public Collection<GrantedAuthority> convert() {
+    return converter.convert(jwt);
+  }
+}
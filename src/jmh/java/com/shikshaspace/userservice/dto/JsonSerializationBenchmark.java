@@ -0,0 +1,70 @@
+package com.shikshaspace.userservice.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shikshaspace.userservice.dto.response.AuthResponse;
+import com.shikshaspace.userservice.dto.response.UserResponse;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/** Cost of serializing the response bodies returned by the user and auth endpoints. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonSerializationBenchmark {
+
+  private ObjectMapper objectMapper;
+  private UserResponse userResponse;
+  private AuthResponse authResponse;
+
+  @Setup
+  public void setup() {
+    // Same module setup Spring Boot applies to the WebFlux codecs
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    userResponse =
+        UserResponse.builder()
+            .id(UUID.randomUUID())
+            .username("jane.doe")
+            .email("jane.doe@example.com")
+            .firstName("Jane")
+            .lastName("Doe")
+            .age(29)
+            .bio("Backend engineer interested in distributed systems.")
+            .experience(6.5)
+            .profileImageUrl("https://cdn.example.com/avatars/jane.png")
+            .linkedinUrl("https://www.linkedin.com/in/jane-doe")
+            .githubUrl("https://github.com/jane-doe")
+            .isActive(true)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+    authResponse =
+        AuthResponse.builder()
+            .token("a".repeat(1200))
+            .refreshToken("r".repeat(700))
+            .expiresIn(300L)
+            .userId(UUID.randomUUID())
+            .username("jane.doe")
+            .email("jane.doe@example.com")
+            .build();
+  }
+
+  @Benchmark
+  public byte[] userResponse() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(userResponse);
+  }
+
+  @Benchmark
+  public byte[] authResponse() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(authResponse);
+  }
+}
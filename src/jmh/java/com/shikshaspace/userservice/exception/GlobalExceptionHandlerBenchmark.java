@@ -0,0 +1,42 @@
+package com.shikshaspace.userservice.exception;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Cost of building error responses, including exception construction. Relevant under load, when
+ * throttled and rejected requests all go through this path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GlobalExceptionHandlerBenchmark {
+
+  private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+  @Benchmark
+  public ResponseEntity<Map<String, Object>> userNotFound() {
+    return handler.handleUserNotFound(new UserNotFoundException("User not found")).block();
+  }
+
+  @Benchmark
+  public ResponseEntity<Map<String, Object>> tooManyRequests() {
+    return handler
+        .handleTooManyRequests(
+            new TooManyRequestsException("Too many login attempts", Duration.ofSeconds(30)))
+        .block();
+  }
+
+  @Benchmark
+  public ResponseEntity<Map<String, Object>> keycloakError() {
+    return handler.handleKeycloakException(new KeycloakException("Keycloak unavailable")).block();
+  }
+}
@@ -0,0 +1,68 @@
+package com.shikshaspace.userservice.mapper;
+
+import com.shikshaspace.userservice.domain.User;
+import com.shikshaspace.userservice.dto.request.UpdateProfileRequest;
+import com.shikshaspace.userservice.dto.response.UserResponse;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Cost of the MapStruct-generated entity/DTO mappings used on every user read and update. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserMapperBenchmark {
+
+  private UserMapper mapper;
+  private User user;
+  private UpdateProfileRequest update;
+
+  @Setup
+  public void setup() {
+    mapper = new UserMapperImpl();
+    user =
+        User.builder()
+            .id(UUID.randomUUID())
+            .keycloakId(UUID.randomUUID())
+            .username("jane.doe")
+            .email("jane.doe@example.com")
+            .firstName("Jane")
+            .lastName("Doe")
+            .emailVerified(true)
+            .age(29)
+            .bio("Backend engineer interested in distributed systems.")
+            .experience(6.5)
+            .profileImageUrl("https://cdn.example.com/avatars/jane.png")
+            .linkedinUrl("https://www.linkedin.com/in/jane-doe")
+            .githubUrl("https://github.com/jane-doe")
+            .isActive(true)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+    update =
+        UpdateProfileRequest.builder()
+            .firstName("Janet")
+            .bio("Platform engineer.")
+            .experience(7.0)
+            .build();
+  }
+
+  @Benchmark
+  public UserResponse toResponse() {
+    return mapper.toResponse(user);
+  }
+
+  @Benchmark
+  public User updateEntity() {
+    // Applying the same update repeatedly keeps the entity stable across invocations
+    mapper.updateEntity(update, user);
+    return user;
+  }
+}
@@ -0,0 +1,234 @@
+package com.shikshaspace.userservice.loadtest;
+
+import com.shikshaspace.userservice.dto.request.LoginRequest;
+import com.shikshaspace.userservice.dto.request.RefreshTokenRequest;
+import com.shikshaspace.userservice.dto.request.RegisterRequest;
+import com.shikshaspace.userservice.dto.request.UpdateProfileRequest;
+import com.shikshaspace.userservice.dto.response.AuthResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Open-model load generator: requests arrive at a fixed rate regardless of how fast the service
+ * answers, like independent users would. Each arrival picks an endpoint from the weighted mix and
+ * acts as one of the users registered so far.
+ */
+@Slf4j
+class LoadGenerator {
+
+  private static final Duration TICK = Duration.ofMillis(1);
+  private static final String PASSWORD = "LoadTest#2024";
+
+  private final LoadTestSettings settings;
+  private final WebClient client;
+  private final List<String> schedule = new ArrayList<>();
+  private final List<TestUser> users = Collections.synchronizedList(new ArrayList<>());
+  private final AtomicLong userSequence = new AtomicLong();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final String runId = UUID.randomUUID().toString().substring(0, 8);
+
+  LoadGenerator(String baseUrl, LoadTestSettings settings) {
+    this.settings = settings;
+    ConnectionProvider provider =
+        ConnectionProvider.builder("loadtest")
+            .maxConnections(Math.max(64, settings.maxInFlight()))
+            .pendingAcquireMaxCount(-1)
+            .build();
+    this.client =
+        WebClient.builder()
+            .baseUrl(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider)))
+            .build();
+    settings
+        .mix()
+        .forEach((endpoint, weight) -> schedule.addAll(Collections.nCopies(weight, endpoint)));
+  }
+
+  /** Register the initial user population at bounded concurrency; not measured. */
+  void seed() {
+    log.info("Seeding {} users", settings.seedUsers());
+    Flux.range(0, settings.seedUsers()).flatMap(i -> register(), 16).blockLast();
+    log.info("Seeded {} users", users.size());
+  }
+
+  /** Run the warm-up phase (results discarded), then the measured phase. */
+  LoadReport run() {
+    log.info("Warm-up at {} req/s for {}", settings.rate(), settings.warmup());
+    runPhase(settings.warmup(), new LoadReport(settings.mix().keySet()));
+
+    log.info("Measuring at {} req/s for {}", settings.rate(), settings.duration());
+    LoadReport report = new LoadReport(settings.mix().keySet());
+    runPhase(settings.duration(), report);
+    return report;
+  }
+
+  private void runPhase(Duration length, LoadReport report) {
+    long periodNanos = Math.max(1, (long) (1e9 / settings.rate()));
+    long total = length.toNanos() / periodNanos;
+    long start = System.nanoTime();
+    AtomicLong sent = new AtomicLong();
+
+    Flux.interval(TICK)
+        .onBackpressureDrop()
+        .map(tick -> Math.min(total, (System.nanoTime() - start) / periodNanos + 1))
+        .takeUntil(due -> due >= total)
+        .concatMapIterable(due -> LongStream.range(sent.getAndSet(due), due).boxed().toList())
+        .flatMap(index -> fire(start + index * periodNanos, report), Integer.MAX_VALUE)
+        .blockLast();
+  }
+
+  private Mono<Void> fire(long scheduledNanos, LoadReport report) {
+    String endpoint = schedule.get(ThreadLocalRandom.current().nextInt(schedule.size()));
+    if (inFlight.incrementAndGet() > settings.maxInFlight()) {
+      inFlight.decrementAndGet();
+      report.dropped(endpoint);
+      return Mono.empty();
+    }
+    return call(endpoint)
+        .timeout(settings.requestTimeout())
+        .onErrorResume(
+            error ->
+                Mono.just(
+                    error instanceof TimeoutException
+                        ? LoadReport.TIMEOUT
+                        : LoadReport.TRANSPORT_ERROR))
+        .doOnNext(status -> report.record(endpoint, status, System.nanoTime() - scheduledNanos))
+        .doFinally(signal -> inFlight.decrementAndGet())
+        .then();
+  }
+
+  private Mono<Integer> call(String endpoint) {
+    TestUser user = randomUser();
+    if (user == null || endpoint.equals("register")) {
+      return register();
+    }
+    return switch (endpoint) {
+      case "login" -> login(user);
+      case "refresh" -> refresh(user);
+      case "profile" -> profile(user);
+      case "update-profile" -> updateProfile(user);
+      default -> Mono.error(new IllegalArgumentException("Unknown endpoint: " + endpoint));
+    };
+  }
+
+  private Mono<Integer> register() {
+    String username = "lt-" + runId + "-" + userSequence.incrementAndGet();
+    RegisterRequest request =
+        RegisterRequest.builder()
+            .username(username)
+            .email(username + "@loadtest.local")
+            .password(PASSWORD)
+            .firstName("Load")
+            .lastName("Test")
+            .build();
+    return client
+        .post()
+        .uri("/api/auth/register")
+        .bodyValue(request)
+        .exchangeToMono(
+            response ->
+                withAuth(
+                    response,
+                    auth ->
+                        users.add(
+                            new TestUser(
+                                auth.getUserId(),
+                                username,
+                                auth.getToken(),
+                                auth.getRefreshToken()))));
+  }
+
+  private Mono<Integer> login(TestUser user) {
+    return client
+        .post()
+        .uri("/api/auth/login")
+        .bodyValue(LoginRequest.builder().username(user.username).password(PASSWORD).build())
+        .exchangeToMono(response -> withAuth(response, user::update));
+  }
+
+  private Mono<Integer> refresh(TestUser user) {
+    return client
+        .post()
+        .uri("/api/auth/refresh")
+        .bodyValue(new RefreshTokenRequest(user.refreshToken))
+        .exchangeToMono(response -> withAuth(response, user::update));
+  }
+
+  private Mono<Integer> profile(TestUser user) {
+    return client
+        .get()
+        .uri("/api/users/me")
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + user.accessToken)
+        .exchangeToMono(LoadGenerator::status);
+  }
+
+  private Mono<Integer> updateProfile(TestUser user) {
+    UpdateProfileRequest request =
+        UpdateProfileRequest.builder()
+            .bio("Updated by load test at " + System.currentTimeMillis())
+            .experience((double) ThreadLocalRandom.current().nextInt(20))
+            .build();
+    return client
+        .put()
+        .uri("/api/users/{id}", user.userId)
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + user.accessToken)
+        .bodyValue(request)
+        .exchangeToMono(LoadGenerator::status);
+  }
+
+  private TestUser randomUser() {
+    synchronized (users) {
+      return users.isEmpty() ? null : users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+  }
+
+  private static Mono<Integer> withAuth(ClientResponse response, Consumer<AuthResponse> onSuccess) {
+    int status = response.statusCode().value();
+    if (!response.statusCode().is2xxSuccessful()) {
+      return response.releaseBody().thenReturn(status);
+    }
+    return response.bodyToMono(AuthResponse.class).doOnNext(onSuccess).thenReturn(status);
+  }
+
+  private static Mono<Integer> status(ClientResponse response) {
+    return response.releaseBody().thenReturn(response.statusCode().value());
+  }
+
+  /** A registered user; tokens are replaced by later logins and refreshes. */
+  private static final class TestUser {
+    private final UUID userId;
+    private final String username;
+    private volatile String accessToken;
+    private volatile String refreshToken;
+
+    private TestUser(UUID userId, String username, String accessToken, String refreshToken) {
+      this.userId = userId;
+      this.username = username;
+      this.accessToken = accessToken;
+      this.refreshToken = refreshToken;
+    }
+
+    private void update(AuthResponse auth) {
+      accessToken = auth.getToken();
+      refreshToken = auth.getRefreshToken();
+    }
+  }
+}
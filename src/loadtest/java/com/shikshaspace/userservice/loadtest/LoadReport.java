@@ -0,0 +1,113 @@
+package com.shikshaspace.userservice.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Per-endpoint results of one load phase. Latency is measured from each request's scheduled arrival
+ * time, so queueing inside the generator or the service is included rather than hidden (no
+ * coordinated omission).
+ */
+class LoadReport {
+
+  /** Pseudo status for requests that hit the client-side timeout. */
+  static final int TIMEOUT = -1;
+
+  /** Pseudo status for connection and other transport errors. */
+  static final int TRANSPORT_ERROR = 0;
+
+  private final Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+
+  LoadReport(Collection<String> endpointNames) {
+    endpointNames.forEach(name -> endpoints.put(name, new EndpointStats()));
+  }
+
+  void record(String endpoint, int status, long latencyNanos) {
+    EndpointStats stats = endpoints.get(endpoint);
+    if (status >= 200 && status < 300) {
+      stats.latencyMicros.recordValue(Math.max(1, latencyNanos / 1_000));
+      stats.ok.increment();
+    } else {
+      stats.errors.computeIfAbsent(status, code -> new LongAdder()).increment();
+    }
+  }
+
+  /** The generator was over its in-flight limit, so the request was never sent. */
+  void dropped(String endpoint) {
+    endpoints.get(endpoint).dropped.increment();
+  }
+
+  void print(PrintStream out, double offeredRate, Duration duration) {
+    double seconds = duration.toNanos() / 1e9;
+    out.printf("%nOffered load: %.1f req/s for %s%n%n", offeredRate, duration);
+    out.printf(
+        "%-16s %8s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+        "endpoint",
+        "ok",
+        "errors",
+        "dropped",
+        "ok/s",
+        "p50 ms",
+        "p99 ms",
+        "p999 ms",
+        "max ms",
+        "mean ms");
+    endpoints.forEach(
+        (name, stats) -> {
+          Histogram latency = stats.latencyMicros;
+          long errors = stats.errors.values().stream().mapToLong(LongAdder::sum).sum();
+          out.printf(
+              "%-16s %8d %8d %8d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+              name,
+              stats.ok.sum(),
+              errors,
+              stats.dropped.sum(),
+              stats.ok.sum() / seconds,
+              millis(latency.getValueAtPercentile(50)),
+              millis(latency.getValueAtPercentile(99)),
+              millis(latency.getValueAtPercentile(99.9)),
+              millis(latency.getMaxValue()),
+              latency.getTotalCount() == 0 ? 0 : latency.getMean() / 1_000);
+        });
+
+    endpoints.forEach(
+        (name, stats) -> {
+          if (!stats.errors.isEmpty()) {
+            out.printf(
+                "%n%s errors: %s",
+                name,
+                stats.errors.entrySet().stream()
+                    .map(entry -> statusLabel(entry.getKey()) + "=" + entry.getValue().sum())
+                    .collect(Collectors.joining(", ")));
+          }
+        });
+    out.println();
+  }
+
+  private static double millis(long micros) {
+    return micros / 1_000.0;
+  }
+
+  private static String statusLabel(int status) {
+    return switch (status) {
+      case TIMEOUT -> "timeout";
+      case TRANSPORT_ERROR -> "transport";
+      default -> String.valueOf(status);
+    };
+  }
+
+  private static final class EndpointStats {
+    private final Histogram latencyMicros = new ConcurrentHistogram(3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Integer, LongAdder> errors = new ConcurrentHashMap<>();
+  }
+}
@@ -0,0 +1,84 @@
+package com.shikshaspace.userservice.loadtest;
+
+import com.shikshaspace.userservice.UserServiceApplication;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs the full register/login/refresh/profile flows on one machine: starts a stub Keycloak and the
+ * application on an in-memory H2 database over R2DBC, drives open-model load and prints throughput
+ * and p50/p99/p999 latency per endpoint. Started by {@code ./gradlew loadTest}.
+ */
+@Slf4j
+public final class LoadTestRunner {
+
+  private static final String REALM = "loadtest";
+  private static final String ADMIN_USERNAME = "admin";
+  private static final String H2_OPTIONS =
+      "DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE";
+
+  private LoadTestRunner() {}
+
+  public static void main(String[] args) throws Exception {
+    LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    StubKeycloak keycloak = new StubKeycloak(REALM, ADMIN_USERNAME, settings).start();
+
+    ConfigurableApplicationContext app = null;
+    try {
+      app =
+          new SpringApplicationBuilder(UserServiceApplication.class)
+              .run(commandLine(applicationProperties(keycloak, settings)));
+      String baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+
+      LoadGenerator generator = new LoadGenerator(baseUrl, settings);
+      generator.seed();
+      generator.run().print(System.out, settings.rate(), settings.duration());
+    } finally {
+      if (app != null) {
+        app.close();
+      }
+      keycloak.stop();
+    }
+  }
+
+  /** Point the app at the stub and the in-memory database; {@code app.*} settings win. */
+  private static Map<String, Object> applicationProperties(
+      StubKeycloak keycloak, LoadTestSettings settings) {
+    Map<String, Object> properties = new LinkedHashMap<>();
+    properties.put("server.port", "0");
+    properties.put("spring.r2dbc.url", "r2dbc:h2:mem:///loadtest?options=" + H2_OPTIONS);
+    properties.put("spring.r2dbc.username", "sa");
+    properties.put("spring.r2dbc.password", "");
+    properties.put("spring.flyway.url", "jdbc:h2:mem:loadtest;" + H2_OPTIONS);
+    properties.put("spring.flyway.user", "sa");
+    properties.put("spring.flyway.password", "");
+    properties.put("spring.flyway.locations", "classpath:db/loadtest");
+    properties.put("schema.mode", "migrate-on-startup");
+
+    String certs = keycloak.issuer() + "/protocol/openid-connect/certs";
+    properties.put("keycloak.server-url", keycloak.baseUrl());
+    properties.put("keycloak.realm", REALM);
+    properties.put("keycloak.admin.username", ADMIN_USERNAME);
+    properties.put("spring.security.oauth2.resourceserver.jwt.issuer-uri", keycloak.issuer());
+    properties.put("spring.security.oauth2.resourceserver.jwt.jwk-set-uri", certs);
+    properties.put("google.jwk-set-uri", certs);
+
+    // Postgres-only features, and per-client throttling that a single load source would trip
+    properties.put("user.cache.notify.enabled", "false");
+    properties.put("registration.saga.relay.enabled", "false");
+    properties.put("auth.throttle.enabled", "false");
+    properties.put("logging.level.com.shikshaspace", "WARN");
+
+    properties.putAll(settings.appProperties());
+    return properties;
+  }
+
+  private static String[] commandLine(Map<String, Object> properties) {
+    return properties.entrySet().stream()
+        .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+        .toArray(String[]::new);
+  }
+}
@@ -0,0 +1,70 @@
+package com.shikshaspace.userservice.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties. {@code app.*} properties are
+ * passed to the application unchanged (without the prefix).
+ */
+record LoadTestSettings(
+    double rate,
+    Duration duration,
+    Duration warmup,
+    int seedUsers,
+    int maxInFlight,
+    Duration requestTimeout,
+    Map<String, Integer> mix,
+    Duration tokenLatency,
+    Duration userInfoLatency,
+    Duration adminLatency,
+    Duration latencyJitter,
+    Map<String, Object> appProperties) {
+
+  static LoadTestSettings fromSystemProperties() {
+    Map<String, Object> appProperties = new LinkedHashMap<>();
+    System.getProperties().stringPropertyNames().stream()
+        .filter(name -> name.startsWith("app."))
+        .forEach(name -> appProperties.put(name.substring(4), System.getProperty(name)));
+
+    return new LoadTestSettings(
+        Double.parseDouble(property("rate", "100")),
+        duration("duration", "60s"),
+        duration("warmup", "10s"),
+        Integer.parseInt(property("seed-users", "200")),
+        Integer.parseInt(property("max-in-flight", "10000")),
+        duration("request-timeout", "30s"),
+        mix(property("mix", "register:1,login:3,refresh:2,profile:3,update-profile:1")),
+        duration("stub.token-latency", "20ms"),
+        duration("stub.userinfo-latency", "5ms"),
+        duration("stub.admin-latency", "30ms"),
+        duration("stub.jitter", "10ms"),
+        appProperties);
+  }
+
+  private static String property(String name, String defaultValue) {
+    return System.getProperty("loadtest." + name, defaultValue);
+  }
+
+  private static Duration duration(String name, String defaultValue) {
+    return DurationStyle.detectAndParse(property(name, defaultValue));
+  }
+
+  /** Parse {@code endpoint:weight,...}; endpoints with weight 0 are skipped. */
+  private static Map<String, Integer> mix(String value) {
+    Map<String, Integer> weights = new LinkedHashMap<>();
+    for (String entry : value.split(",")) {
+      String[] parts = entry.trim().split(":");
+      int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+      if (weight > 0) {
+        weights.put(parts[0].trim(), weight);
+      }
+    }
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("loadtest.mix must contain at least one endpoint");
+    }
+    return weights;
+  }
+}
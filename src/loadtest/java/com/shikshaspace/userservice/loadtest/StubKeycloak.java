@@ -0,0 +1,282 @@
+package com.shikshaspace.userservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+/**
+ * In-process stand-in for the Keycloak endpoints the service calls: token (password, refresh and
+ * token-exchange grants), JWKS, userinfo and the admin users API. Tokens are real RS256 JWTs, so
+ * the resource server and local refresh-token verification run unchanged. Each endpoint group
+ * answers after a configurable latency plus jitter, without blocking the event loop.
+ */
+@Slf4j
+class StubKeycloak {
+
+  private static final long TOKEN_TTL_SECONDS = 300;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Map<String, StubUser> usersByUsername = new ConcurrentHashMap<>();
+  private final Map<String, StubUser> usersById = new ConcurrentHashMap<>();
+  private final String realm;
+  private final String adminUsername;
+  private final LoadTestSettings settings;
+  private final RSAKey signingKey;
+  private final RSASSASigner signer;
+  private DisposableServer server;
+  private String baseUrl;
+
+  StubKeycloak(String realm, String adminUsername, LoadTestSettings settings) throws JOSEException {
+    this.realm = realm;
+    this.adminUsername = adminUsername;
+    this.settings = settings;
+    this.signingKey =
+        new RSAKeyGenerator(2048).keyUse(KeyUse.SIGNATURE).keyID("loadtest").generate();
+    this.signer = new RSASSASigner(signingKey);
+  }
+
+  /** Bind to a free local port. */
+  StubKeycloak start() {
+    String realmPath = "/realms/" + realm + "/protocol/openid-connect";
+    String usersPath = "/admin/realms/" + realm + "/users";
+    server =
+        HttpServer.create()
+            .host("localhost")
+            .port(0)
+            .route(
+                routes ->
+                    routes
+                        .post(realmPath + "/token", this::token)
+                        .get(realmPath + "/certs", this::certs)
+                        .get(realmPath + "/userinfo", this::userInfo)
+                        .post(usersPath, this::createUser)
+                        .get(usersPath, this::findUsers)
+                        .delete(usersPath + "/{id}", this::deleteUser))
+            .bindNow();
+    baseUrl = "http://localhost:" + server.port();
+    log.info("Stub Keycloak listening on {}", baseUrl);
+    return this;
+  }
+
+  void stop() {
+    if (server != null) {
+      server.disposeNow();
+    }
+  }
+
+  String baseUrl() {
+    return baseUrl;
+  }
+
+  String issuer() {
+    return baseUrl + "/realms/" + realm;
+  }
+
+  private Publisher<Void> token(HttpServerRequest request, HttpServerResponse response) {
+    return request
+        .receive()
+        .aggregate()
+        .asString()
+        .map(body -> new QueryStringDecoder(body, false).parameters())
+        .delayUntil(form -> delay(settings.tokenLatency()))
+        .flatMap(
+            form -> {
+              String grantType = first(form, "grant_type");
+              StubUser user =
+                  switch (grantType == null ? "" : grantType) {
+                    case "password" -> passwordUser(first(form, "username"));
+                    case "refresh_token" -> userFromToken(first(form, "refresh_token"));
+                    case "urn:ietf:params:oauth:grant-type:token-exchange" -> usersById.get(
+                        first(form, "requested_subject"));
+                    default -> null;
+                  };
+              if (user == null) {
+                return json(
+                    response.status(HttpResponseStatus.BAD_REQUEST),
+                    Map.of("error", "invalid_grant"));
+              }
+              return json(
+                  response,
+                  Map.of(
+                      "access_token",
+                      sign(user, "Bearer"),
+                      "refresh_token",
+                      sign(user, "Refresh"),
+                      "expires_in",
+                      TOKEN_TTL_SECONDS,
+                      "token_type",
+                      "Bearer"));
+            });
+  }
+
+  private Publisher<Void> certs(HttpServerRequest request, HttpServerResponse response) {
+    return json(response, new JWKSet(signingKey.toPublicJWK()).toJSONObject());
+  }
+
+  private Publisher<Void> userInfo(HttpServerRequest request, HttpServerResponse response) {
+    String authorization = request.requestHeaders().get("Authorization", "");
+    StubUser user = userFromToken(authorization.replaceFirst("(?i)^Bearer ", ""));
+    if (user == null) {
+      return response.status(HttpResponseStatus.UNAUTHORIZED).send();
+    }
+    Map<String, Object> claims =
+        Map.of("sub", user.id(), "preferred_username", user.username(), "email", user.email());
+    return delay(settings.userInfoLatency()).then(Mono.defer(() -> json(response, claims)));
+  }
+
+  private Publisher<Void> createUser(HttpServerRequest request, HttpServerResponse response) {
+    return request
+        .receive()
+        .aggregate()
+        .asByteArray()
+        .delayUntil(body -> delay(settings.adminLatency()))
+        .flatMap(
+            body -> {
+              Map<?, ?> representation;
+              try {
+                representation = objectMapper.readValue(body, Map.class);
+              } catch (Exception e) {
+                return Mono.from(response.status(HttpResponseStatus.BAD_REQUEST).send());
+              }
+              StubUser user =
+                  new StubUser(
+                      UUID.randomUUID().toString(),
+                      String.valueOf(representation.get("username")),
+                      String.valueOf(representation.get("email")));
+              if (usersByUsername.putIfAbsent(user.username(), user) != null) {
+                return Mono.from(response.status(HttpResponseStatus.CONFLICT).send());
+              }
+              usersById.put(user.id(), user);
+              return Mono.from(
+                  response
+                      .status(HttpResponseStatus.CREATED)
+                      .header("Location", baseUrl + request.uri() + "/" + user.id())
+                      .send());
+            });
+  }
+
+  private Publisher<Void> findUsers(HttpServerRequest request, HttpServerResponse response) {
+    Map<String, List<String>> query = new QueryStringDecoder(request.uri()).parameters();
+    String username = first(query, "username");
+    String email = first(query, "email");
+    List<Map<String, Object>> matches =
+        usersByUsername.values().stream()
+            .filter(user -> username == null || user.username().equals(username))
+            .filter(user -> email == null || user.email().equalsIgnoreCase(email))
+            .map(
+                user ->
+                    Map.<String, Object>of(
+                        "id", user.id(),
+                        "username", user.username(),
+                        "email", user.email(),
+                        "enabled", true))
+            .toList();
+    return delay(settings.adminLatency()).then(Mono.defer(() -> json(response, matches)));
+  }
+
+  private Publisher<Void> deleteUser(HttpServerRequest request, HttpServerResponse response) {
+    StubUser removed = usersById.remove(request.param("id"));
+    if (removed != null) {
+      usersByUsername.remove(removed.username());
+    }
+    HttpResponseStatus status =
+        removed != null ? HttpResponseStatus.NO_CONTENT : HttpResponseStatus.NOT_FOUND;
+    return delay(settings.adminLatency())
+        .then(Mono.defer(() -> Mono.from(response.status(status).send())));
+  }
+
+  private StubUser passwordUser(String username) {
+    if (username == null) {
+      return null;
+    }
+    if (username.equals(adminUsername)) {
+      return new StubUser(UUID.nameUUIDFromBytes(username.getBytes()).toString(), username, "");
+    }
+    return usersByUsername.get(username);
+  }
+
+  private StubUser userFromToken(String token) {
+    try {
+      return usersById.get(SignedJWT.parse(token).getJWTClaimsSet().getSubject());
+    } catch (ParseException | NullPointerException e) {
+      return null;
+    }
+  }
+
+  private String sign(StubUser user, String type) {
+    Instant now = Instant.now();
+    JWTClaimsSet claims =
+        new JWTClaimsSet.Builder()
+            .issuer(issuer())
+            .subject(user.id())
+            .audience("account")
+            .issueTime(Date.from(now))
+            .expirationTime(Date.from(now.plusSeconds(TOKEN_TTL_SECONDS)))
+            .jwtID(UUID.randomUUID().toString())
+            .claim("typ", type)
+            .claim("preferred_username", user.username())
+            .claim("email", user.email())
+            .claim("realm_access", Map.of("roles", List.of("user")))
+            .build();
+    SignedJWT jwt =
+        new SignedJWT(
+            new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+    try {
+      jwt.sign(signer);
+    } catch (JOSEException e) {
+      throw new IllegalStateException("Failed to sign stub token", e);
+    }
+    return jwt.serialize();
+  }
+
+  private Mono<Void> json(HttpServerResponse response, Object body) {
+    byte[] bytes;
+    try {
+      bytes = objectMapper.writeValueAsBytes(body);
+    } catch (Exception e) {
+      return Mono.error(e);
+    }
+    return Mono.from(
+        response.header("Content-Type", "application/json").sendByteArray(Mono.just(bytes)));
+  }
+
+  private Mono<Long> delay(Duration latency) {
+    long jitter = settings.latencyJitter().toMillis();
+    long millis =
+        latency.toMillis() + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0);
+    return millis > 0 ? Mono.delay(Duration.ofMillis(millis)) : Mono.just(0L);
+  }
+
+  private static String first(Map<String, List<String>> parameters, String name) {
+    List<String> values = parameters.get(name);
+    return values == null || values.isEmpty() ? null : values.get(0);
+  }
+
+  private record StubUser(String id, String username, String email) {}
+}
@@ -0,0 +1,49 @@
+-- ============================================
+-- USER SERVICE - LOAD TEST SCHEMA (H2)
+-- Mirrors db/migration for the tables used by the
+-- register/login/refresh/profile flows
+-- ============================================
+
+-- Postgres-only parts (plpgsql triggers, partial indexes, NOTIFY)
+-- are left out; cross-replica notify and the saga relay are
+-- disabled in the load test. TEXT columns are VARCHAR so that
+-- r2dbc-h2 maps them to String rather than Clob.
+CREATE TABLE IF NOT EXISTS users (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    keycloak_id UUID NOT NULL UNIQUE,
+    username VARCHAR(100) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    first_name VARCHAR(100),
+    last_name VARCHAR(100),
+    age INTEGER CHECK (age >= 0 AND age <= 150),
+    bio VARCHAR,
+    experience DOUBLE PRECISION CHECK (experience >= 0),
+    profile_image_url VARCHAR(500),
+    linkedin_url VARCHAR(500),
+    github_url VARCHAR(500),
+    email_verified BOOLEAN DEFAULT FALSE,
+    is_active BOOLEAN DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users(created_at DESC, id DESC);
+
+CREATE TABLE IF NOT EXISTS registration_saga (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    username VARCHAR(100) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(100),
+    last_name VARCHAR(100),
+    email_verified BOOLEAN DEFAULT FALSE,
+    keycloak_id UUID,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR,
+    next_attempt_at TIMESTAMP NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_registration_saga_due ON registration_saga(next_attempt_at);
@@ -1,5 +1,6 @@
 package com.shikshaspace.userservice;
 
+import com.shikshaspace.userservice.db.SchemaMigrationJob;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -7,6 +8,9 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class UserServiceApplication {
 
   public static void main(String[] args) {
+    if (SchemaMigrationJob.isRequested(args)) {
+      System.exit(SchemaMigrationJob.run(args));
+    }
     SpringApplication.run(UserServiceApplication.class, args);
   }
 }
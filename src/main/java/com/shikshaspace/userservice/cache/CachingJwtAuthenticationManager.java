@@ -0,0 +1,126 @@
+package com.shikshaspace.userservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches verified {@link JwtAuthenticationToken}s so repeated requests with the same bearer token
+ * skip signature verification, claim parsing and role conversion. Entries are keyed by the SHA-256
+ * digest of the token and are never served at or after the token's {@code exp}; failed
+ * authentications are never cached. Concurrent misses for the same token share one verification
+ * through a {@link SingleFlight}. Hit rates are exported as the {@code jwt_authentication} cache.
+ */
+@Slf4j
+public class CachingJwtAuthenticationManager implements ReactiveAuthenticationManager {
+
+  private final ReactiveAuthenticationManager delegate;
+  private final Cache<ByteBuffer, JwtAuthenticationToken> cache;
+  private final SingleFlight<ByteBuffer, Authentication> verifications;
+
+  public CachingJwtAuthenticationManager(
+      ReactiveAuthenticationManager delegate,
+      MeterRegistry meterRegistry,
+      long maxSize,
+      Duration maxTtl) {
+    this.delegate = delegate;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new TokenExpiry(maxTtl))
+            .recordStats()
+            .build();
+    this.verifications = new SingleFlight<>("jwt_authentication", meterRegistry);
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt_authentication");
+    log.info("JWT authentication cache initialized (maxSize={}, maxTtl={})", maxSize, maxTtl);
+  }
+
+  @Override
+  public Mono<Authentication> authenticate(Authentication authentication) {
+    if (!(authentication instanceof BearerTokenAuthenticationToken bearer)) {
+      return delegate.authenticate(authentication);
+    }
+    ByteBuffer key = digest(bearer.getToken());
+    JwtAuthenticationToken cached = cache.getIfPresent(key);
+    if (cached != null && isLive(cached)) {
+      return Mono.just(cached);
+    }
+    return verifications.execute(
+        key,
+        () ->
+            delegate
+                .authenticate(authentication)
+                .doOnNext(
+                    verified -> {
+                      if (verified instanceof JwtAuthenticationToken jwtAuthentication) {
+                        cache.put(key, jwtAuthentication);
+                      }
+                    }));
+  }
+
+  /** Whether the token is still before its {@code exp}; the cache timer alone may fire late. */
+  private static boolean isLive(JwtAuthenticationToken authentication) {
+    Instant expiresAt = authentication.getToken().getExpiresAt();
+    return expiresAt != null && Instant.now().isBefore(expiresAt);
+  }
+
+  private static ByteBuffer digest(String token) {
+    try {
+      MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+      return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /** Live until the token's expiry, capped at the configured maximum. */
+  private record TokenExpiry(Duration maxTtl)
+      implements Expiry<ByteBuffer, JwtAuthenticationToken> {
+
+    @Override
+    public long expireAfterCreate(
+        ByteBuffer key, JwtAuthenticationToken authentication, long currentTime) {
+      Instant expiresAt = authentication.getToken().getExpiresAt();
+      if (expiresAt == null) {
+        return 0;
+      }
+      Duration remaining = Duration.between(Instant.now(), expiresAt);
+      if (remaining.isNegative()) {
+        return 0;
+      }
+      return Math.min(remaining.toNanos(), maxTtl.toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        ByteBuffer key,
+        JwtAuthenticationToken authentication,
+        long currentTime,
+        long currentDuration) {
+      return expireAfterCreate(key, authentication, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        ByteBuffer key,
+        JwtAuthenticationToken authentication,
+        long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
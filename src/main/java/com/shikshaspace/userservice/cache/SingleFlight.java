@@ -0,0 +1,62 @@
+package com.shikshaspace.userservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Collapses concurrent loads of the same key into one in-flight {@link Mono}.
+ *
+ * <p>The first caller for a key starts the load; callers arriving while it runs subscribe to the
+ * same shared result, including its error. The entry is removed as soon as the load terminates, so
+ * later calls (and retries after an error) start a fresh load. The load is cancelled only when
+ * every waiting caller has cancelled.
+ */
+public class SingleFlight<K, V> {
+
+  private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+  private final Counter executed;
+  private final Counter collapsed;
+
+  public SingleFlight(String name, MeterRegistry meterRegistry) {
+    this.executed = counter(meterRegistry, name, "executed");
+    this.collapsed = counter(meterRegistry, name, "collapsed");
+  }
+
+  /** Run {@code loader} for {@code key}, or join the load already running for it. */
+  public Mono<V> execute(K key, Supplier<Mono<V>> loader) {
+    return Mono.defer(
+        () -> {
+          AtomicBoolean started = new AtomicBoolean();
+          Mono<V> call =
+              inFlight.computeIfAbsent(
+                  key,
+                  k -> {
+                    started.set(true);
+                    return newCall(k, loader);
+                  });
+          (started.get() ? executed : collapsed).increment();
+          return call;
+        });
+  }
+
+  private Mono<V> newCall(K key, Supplier<Mono<V>> loader) {
+    AtomicReference<Mono<V>> self = new AtomicReference<>();
+    Mono<V> call = Mono.defer(loader).doFinally(signal -> inFlight.remove(key, self.get())).share();
+    self.set(call);
+    return call;
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String name, String result) {
+    return Counter.builder("user.singleflight.calls")
+        .description("Lookups that started a load vs. joined one already in flight")
+        .tag("name", name)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,264 @@
+package com.shikshaspace.userservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shikshaspace.userservice.domain.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounded in-process cache of {@link User} records, indexed by id, username, email and keycloakId.
+ *
+ * <p>Records live in a single Caffeine cache keyed by id; the other keys are secondary indexes
+ * pointing at the id. All index updates happen inside the atomic compute of the primary entry, so
+ * invalidating a user drops every key at once. Index hits are re-checked against the cached record,
+ * which makes a stale index entry harmless.
+ *
+ * <p>Misses on the same key share one load through a {@link SingleFlight}. The invalidation
+ * generation is captured when that shared load starts, not when a caller joins it, so a load that
+ * began before an invalidation is never cached.
+ */
+@Slf4j
+@Component
+public class UserCache {
+
+  private final boolean enabled;
+  private final Cache<UUID, User> usersById;
+  private final Map<String, UUID> idsByUsername = new ConcurrentHashMap<>();
+  private final Map<String, UUID> idsByEmail = new ConcurrentHashMap<>();
+  private final Map<UUID, UUID> idsByKeycloakId = new ConcurrentHashMap<>();
+  private final SingleFlight<UUID, User> idLoads;
+  private final SingleFlight<String, User> usernameLoads;
+  private final SingleFlight<String, User> emailLoads;
+  private final SingleFlight<UUID, User> keycloakIdLoads;
+
+  /** Bumped on every invalidation; loads that started before it are not cached. */
+  private final AtomicLong generation = new AtomicLong();
+
+  private final Map<String, Counter> hits = new ConcurrentHashMap<>();
+  private final Map<String, Counter> misses = new ConcurrentHashMap<>();
+  private final MeterRegistry meterRegistry;
+
+  public UserCache(
+      MeterRegistry meterRegistry,
+      @Value("${user.cache.enabled:true}") boolean enabled,
+      @Value("${user.cache.max-size:10000}") long maxSize,
+      @Value("${user.cache.ttl:5m}") Duration ttl) {
+    this.meterRegistry = meterRegistry;
+    this.enabled = enabled;
+    this.usersById =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .<UUID, User>evictionListener((id, user, cause) -> unindex(id, user))
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users");
+    this.idLoads = new SingleFlight<>("user_by_id", meterRegistry);
+    this.usernameLoads = new SingleFlight<>("user_by_username", meterRegistry);
+    this.emailLoads = new SingleFlight<>("user_by_email", meterRegistry);
+    this.keycloakIdLoads = new SingleFlight<>("user_by_keycloak_id", meterRegistry);
+    log.info("User cache initialized (enabled={}, maxSize={}, ttl={})", enabled, maxSize, ttl);
+  }
+
+  /** Look up a user by id, loading and caching it on a miss. */
+  public Mono<User> findById(UUID id, Supplier<Mono<User>> loader) {
+    return lookup("id", () -> usersById.getIfPresent(id), idLoads, id, loader);
+  }
+
+  /** Look up a user by username, loading and caching it on a miss. */
+  public Mono<User> findByUsername(String username, Supplier<Mono<User>> loader) {
+    return lookup(
+        "username",
+        () -> fromIndex(idsByUsername, username, User::getUsername),
+        usernameLoads,
+        username,
+        loader);
+  }
+
+  /** Look up a user by email, loading and caching it on a miss. */
+  public Mono<User> findByEmail(String email, Supplier<Mono<User>> loader) {
+    return lookup(
+        "email", () -> fromIndex(idsByEmail, email, User::getEmail), emailLoads, email, loader);
+  }
+
+  /** Look up a user by Keycloak id, loading and caching it on a miss. */
+  public Mono<User> findByKeycloakId(UUID keycloakId, Supplier<Mono<User>> loader) {
+    return lookup(
+        "keycloak_id",
+        () -> fromIndex(idsByKeycloakId, keycloakId, User::getKeycloakId),
+        keycloakIdLoads,
+        keycloakId,
+        loader);
+  }
+
+  /** Drop every key of a user. */
+  public void invalidate(UUID id) {
+    generation.incrementAndGet();
+    usersById
+        .asMap()
+        .computeIfPresent(
+            id,
+            (key, previous) -> {
+              unindex(key, previous);
+              return null;
+            });
+  }
+
+  /**
+   * Drop every key of a user now and again once the surrounding transaction completes, so a read
+   * racing with an uncommitted write cannot re-cache the old row.
+   */
+  public Mono<Void> invalidateAfterCompletion(UUID id) {
+    return Mono.fromRunnable(() -> invalidate(id))
+        .then(TransactionSynchronizationManager.forCurrentTransaction())
+        .doOnNext(
+            synchronizationManager -> {
+              if (!synchronizationManager.isSynchronizationActive()) {
+                return;
+              }
+              synchronizationManager.registerSynchronization(
+                  new TransactionSynchronization() {
+                    @Override
+                    public Mono<Void> afterCompletion(int status) {
+                      return Mono.fromRunnable(() -> invalidate(id));
+                    }
+                  });
+            })
+        .onErrorResume(NoTransactionException.class, error -> Mono.empty())
+        .then();
+  }
+
+  /** Drop all cached users. */
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    usersById.invalidateAll();
+    idsByUsername.clear();
+    idsByEmail.clear();
+    idsByKeycloakId.clear();
+  }
+
+  /** Apply invalidations published by this or any peer instance. */
+  @EventListener
+  public void onInvalidation(UserInvalidationEvent event) {
+    if (event.isFullFlush()) {
+      invalidateAll();
+    } else {
+      invalidate(event.userId());
+    }
+  }
+
+  private <K> Mono<User> lookup(
+      String index,
+      Supplier<User> cached,
+      SingleFlight<K, User> loads,
+      K key,
+      Supplier<Mono<User>> loader) {
+    if (!enabled) {
+      return loads.execute(key, loader);
+    }
+    return Mono.defer(
+        () -> {
+          User user = cached.get();
+          if (user != null) {
+            counter(hits, index, "hit").increment();
+            return Mono.just(user);
+          }
+          counter(misses, index, "miss").increment();
+          return loads.execute(
+              key,
+              () -> {
+                long loadGeneration = generation.get();
+                return loader.get().doOnNext(loaded -> putIfCurrent(loaded, loadGeneration));
+              });
+        });
+  }
+
+  private void putIfCurrent(User user, long loadGeneration) {
+    if (user.getId() == null || generation.get() != loadGeneration) {
+      return;
+    }
+    usersById
+        .asMap()
+        .compute(
+            user.getId(),
+            (id, previous) -> {
+              if (previous != null) {
+                unindex(id, previous);
+              }
+              index(id, user);
+              return user;
+            });
+  }
+
+  private <K> User fromIndex(Map<K, UUID> index, K key, Function<User, K> keyExtractor) {
+    if (key == null) {
+      return null;
+    }
+    UUID id = index.get(key);
+    if (id == null) {
+      return null;
+    }
+    User user = usersById.getIfPresent(id);
+    if (user == null || !Objects.equals(key, keyExtractor.apply(user))) {
+      index.remove(key, id);
+      return null;
+    }
+    return user;
+  }
+
+  private void index(UUID id, User user) {
+    if (user.getUsername() != null) {
+      idsByUsername.put(user.getUsername(), id);
+    }
+    if (user.getEmail() != null) {
+      idsByEmail.put(user.getEmail(), id);
+    }
+    if (user.getKeycloakId() != null) {
+      idsByKeycloakId.put(user.getKeycloakId(), id);
+    }
+  }
+
+  private void unindex(UUID id, User user) {
+    if (user == null) {
+      return;
+    }
+    if (user.getUsername() != null) {
+      idsByUsername.remove(user.getUsername(), id);
+    }
+    if (user.getEmail() != null) {
+      idsByEmail.remove(user.getEmail(), id);
+    }
+    if (user.getKeycloakId() != null) {
+      idsByKeycloakId.remove(user.getKeycloakId(), id);
+    }
+  }
+
+  private Counter counter(Map<String, Counter> counters, String index, String result) {
+    return counters.computeIfAbsent(
+        index,
+        key ->
+            Counter.builder("user.cache.lookups")
+                .description("User cache lookups by index")
+                .tag("index", key)
+                .tag("result", result)
+                .register(meterRegistry));
+  }
+}
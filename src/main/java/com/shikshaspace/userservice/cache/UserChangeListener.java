@@ -0,0 +1,127 @@
+package com.shikshaspace.userservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Listens on the Postgres {@code users_changed} channel (see {@code V2__notify_users_changed.sql})
+ * and republishes each notification as a local {@link UserInvalidationEvent}.
+ *
+ * <p>Uses a dedicated connection outside the R2DBC pool. Whenever LISTEN is (re)established the
+ * local cache is flushed, since notifications sent while disconnected are lost.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "user.cache.notify.enabled", havingValue = "true")
+public class UserChangeListener {
+
+  static final String CHANNEL = "users_changed";
+
+  private final ApplicationEventPublisher eventPublisher;
+  private final ConnectionFactory connectionFactory;
+  private final Duration maxBackoff;
+  private final Counter notifications;
+  private final Counter reconnects;
+  private Disposable subscription;
+
+  public UserChangeListener(
+      ApplicationEventPublisher eventPublisher,
+      MeterRegistry meterRegistry,
+      @Value("${spring.r2dbc.url}") String url,
+      @Value("${spring.r2dbc.username}") String username,
+      @Value("${spring.r2dbc.password}") String password,
+      @Value("${user.cache.notify.max-backoff:30s}") Duration maxBackoff) {
+    this.eventPublisher = eventPublisher;
+    this.maxBackoff = maxBackoff;
+    this.connectionFactory =
+        ConnectionFactories.get(
+            ConnectionFactoryOptions.parse(url)
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+    this.notifications =
+        Counter.builder("user.cache.notifications")
+            .description("users_changed notifications received")
+            .register(meterRegistry);
+    this.reconnects =
+        Counter.builder("user.cache.notify.reconnects")
+            .description("LISTEN connections (re)established, each followed by a full flush")
+            .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    log.info("Listening for user changes on channel '{}'", CHANNEL);
+    subscription =
+        Flux.usingWhen(
+                Mono.from(connectionFactory.create()).cast(PostgresqlConnection.class),
+                this::listen,
+                PostgresqlConnection::close)
+            .repeat()
+            .retryWhen(
+                Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                    .maxBackoff(maxBackoff)
+                    .transientErrors(true)
+                    .doBeforeRetry(
+                        signal ->
+                            log.warn(
+                                "⚠️ LISTEN {} lost, reconnecting: {}",
+                                CHANNEL,
+                                signal.failure().getMessage())))
+            .subscribe(this::publish);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (subscription != null) {
+      subscription.dispose();
+    }
+  }
+
+  private Flux<Notification> listen(PostgresqlConnection connection) {
+    return connection
+        .createStatement("LISTEN " + CHANNEL)
+        .execute()
+        .flatMap(PostgresqlResult::getRowsUpdated)
+        .then(
+            Mono.fromRunnable(
+                () -> {
+                  reconnects.increment();
+                  log.info("✅ LISTEN {} established, flushing local user cache", CHANNEL);
+                  eventPublisher.publishEvent(UserInvalidationEvent.all());
+                }))
+        .thenMany(connection.getNotifications());
+  }
+
+  private void publish(Notification notification) {
+    notifications.increment();
+    String payload = notification.getParameter();
+    try {
+      eventPublisher.publishEvent(new UserInvalidationEvent(UUID.fromString(payload)));
+    } catch (IllegalArgumentException e) {
+      log.warn("Unexpected {} payload '{}', flushing local user cache", CHANNEL, payload);
+      eventPublisher.publishEvent(UserInvalidationEvent.all());
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package com.shikshaspace.userservice.cache;
+
+import java.util.UUID;
+
+/**
+ * Local event asking every user cache to drop a user. A {@code null} id means the whole cache must
+ * be flushed, e.g. after change notifications may have been missed.
+ */
+public record UserInvalidationEvent(UUID userId) {
+
+  public static UserInvalidationEvent all() {
+    return new UserInvalidationEvent(null);
+  }
+
+  public boolean isFullFlush() {
+    return userId == null;
+  }
+}
@@ -0,0 +1,184 @@
+package com.shikshaspace.userservice.client;
+
+import com.shikshaspace.userservice.dto.response.TokenResponse;
+import com.shikshaspace.userservice.exception.KeycloakException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking client for the Keycloak admin REST API, built on the pooled reactive HTTP stack.
+ *
+ * <p>The admin access token is fetched once and shared by all callers until shortly before it
+ * expires. A 401 from the admin API drops the cached token and retries the call once.
+ */
+@Slf4j
+@Component
+public class KeycloakAdminClient {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+  private static final Duration TOKEN_EXPIRY_MARGIN = Duration.ofSeconds(30);
+
+  private final WebClient webClient;
+  private final String tokenUrl;
+  private final String usersUrl;
+  private final String adminUsername;
+  private final String adminPassword;
+  private final AtomicReference<Mono<String>> adminToken = new AtomicReference<>();
+
+  public KeycloakAdminClient(
+      @Qualifier("keycloakAdminWebClient") WebClient webClient,
+      @Value("${keycloak.server-url}") String serverUrl,
+      @Value("${keycloak.realm}") String realm,
+      @Value("${keycloak.admin.username}") String adminUsername,
+      @Value("${keycloak.admin.password}") String adminPassword) {
+    this.webClient = webClient;
+    this.tokenUrl = serverUrl + "/realms/" + realm + "/protocol/openid-connect/token";
+    this.usersUrl = serverUrl + "/admin/realms/" + realm + "/users";
+    this.adminUsername = adminUsername;
+    this.adminPassword = adminPassword;
+  }
+
+  /**
+   * Create a user and return its Keycloak id. A 4xx means Keycloak rejected the user and fails with
+   * {@link KeycloakException}; 5xx responses and timeouts propagate unchanged, since the user may
+   * or may not have been created.
+   */
+  public Mono<UUID> createUser(UserRepresentation user) {
+    return withAdminToken(
+            token ->
+                webClient
+                    .post()
+                    .uri(usersUrl)
+                    .headers(headers -> headers.setBearerAuth(token))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(user)
+                    .retrieve()
+                    .toBodilessEntity())
+        .map(
+            response -> {
+              URI location = response.getHeaders().getLocation();
+              if (location == null) {
+                throw new KeycloakException("Failed to create user: missing Location header");
+              }
+              String path = location.getPath();
+              return UUID.fromString(path.substring(path.lastIndexOf('/') + 1));
+            })
+        .onErrorMap(
+            WebClientResponseException.class,
+            error ->
+                error.getStatusCode().is4xxClientError()
+                    ? new KeycloakException(
+                        "Failed to create user: " + error.getStatusText(), error)
+                    : error);
+  }
+
+  /** Users whose email matches exactly. */
+  public Flux<UserRepresentation> findUsersByEmail(String email) {
+    return search("email", email);
+  }
+
+  /** Users whose username matches exactly. */
+  public Flux<UserRepresentation> findUsersByUsername(String username) {
+    return search("username", username);
+  }
+
+  /** Delete a user. Deleting a user that no longer exists succeeds. */
+  public Mono<Void> deleteUser(UUID keycloakId) {
+    return withAdminToken(
+            token ->
+                webClient
+                    .delete()
+                    .uri(usersUrl + "/{id}", keycloakId)
+                    .headers(headers -> headers.setBearerAuth(token))
+                    .retrieve()
+                    .toBodilessEntity())
+        .onErrorResume(WebClientResponseException.NotFound.class, error -> Mono.empty())
+        .then();
+  }
+
+  /** Fetch and cache the admin token ahead of the first admin call. */
+  public Mono<Void> warmUp() {
+    return adminToken().then();
+  }
+
+  private Flux<UserRepresentation> search(String attribute, String value) {
+    return withAdminToken(
+            token ->
+                webClient
+                    .get()
+                    .uri(usersUrl + "?{attribute}={value}&exact=true", attribute, value)
+                    .headers(headers -> headers.setBearerAuth(token))
+                    .retrieve()
+                    .bodyToFlux(UserRepresentation.class)
+                    .collectList())
+        .flatMapMany(Flux::fromIterable);
+  }
+
+  /** Run an admin call with the cached token, refreshing it once if Keycloak rejects it. */
+  private <T> Mono<T> withAdminToken(Function<String, Mono<T>> call) {
+    return adminToken()
+        .flatMap(call)
+        .onErrorResume(
+            WebClientResponseException.Unauthorized.class,
+            error -> {
+              log.warn("⚠️ Keycloak admin token rejected, fetching a new one");
+              adminToken.set(null);
+              return adminToken().flatMap(call);
+            })
+        .timeout(TIMEOUT);
+  }
+
+  private Mono<String> adminToken() {
+    Mono<String> cached = adminToken.get();
+    if (cached != null) {
+      return cached;
+    }
+    Mono<String> fresh =
+        fetchAdminToken()
+            .cache(
+                token -> tokenLifetime(token).minus(TOKEN_EXPIRY_MARGIN),
+                error -> Duration.ZERO,
+                () -> Duration.ZERO)
+            .map(TokenResponse::getAccessToken);
+    return adminToken.updateAndGet(current -> current != null ? current : fresh);
+  }
+
+  private static Duration tokenLifetime(TokenResponse token) {
+    Long expiresIn = token.getExpiresIn();
+    return Duration.ofSeconds(expiresIn != null ? expiresIn : 60);
+  }
+
+  private Mono<TokenResponse> fetchAdminToken() {
+    MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+    formData.add("grant_type", "password");
+    formData.add("client_id", "admin-cli");
+    formData.add("username", adminUsername);
+    formData.add("password", adminPassword);
+
+    return webClient
+        .post()
+        .uri(tokenUrl)
+        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+        .bodyValue(formData)
+        .retrieve()
+        .bodyToMono(TokenResponse.class)
+        .timeout(TIMEOUT)
+        .doOnSuccess(token -> log.debug("Obtained Keycloak admin token"));
+  }
+}
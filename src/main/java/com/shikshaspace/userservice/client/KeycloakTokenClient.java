@@ -0,0 +1,253 @@
+package com.shikshaspace.userservice.client;
+
+import com.shikshaspace.userservice.dto.response.TokenResponse;
+import com.shikshaspace.userservice.exception.ServiceUnavailableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Shared client for the Keycloak OpenID Connect endpoints. Endpoint URLs are resolved once at
+ * startup and every call goes through a long-lived pooled WebClient, timed per endpoint under
+ * {@code keycloak.client.requests}.
+ */
+@Slf4j
+@Component
+public class KeycloakTokenClient {
+
+  private static final Duration TOKEN_TIMEOUT = Duration.ofSeconds(10);
+  private static final Duration USERINFO_TIMEOUT = Duration.ofSeconds(5);
+  private static final Duration DEFAULT_HEDGE_DELAY = Duration.ofMillis(500);
+  private static final Duration MIN_HEDGE_DELAY = Duration.ofMillis(50);
+  private static final String TOKEN_EXCHANGE_GRANT =
+      "urn:ietf:params:oauth:grant-type:token-exchange";
+  private static final String REFRESH_TOKEN_TYPE = "urn:ietf:params:oauth:token-type:refresh_token";
+
+  private final WebClient tokenWebClient;
+  private final WebClient userInfoWebClient;
+  private final MeterRegistry meterRegistry;
+  private final CircuitBreaker circuitBreaker;
+  private final boolean hedgeRefresh;
+  private final Timer refreshLatency;
+  private final Counter hedgedRefreshes;
+  private final String tokenUrl;
+  private final String userInfoUrl;
+  private final String clientId;
+  private final String clientSecret;
+
+  public KeycloakTokenClient(
+      @Qualifier("keycloakTokenWebClient") WebClient tokenWebClient,
+      @Qualifier("keycloakUserInfoWebClient") WebClient userInfoWebClient,
+      MeterRegistry meterRegistry,
+      CircuitBreaker keycloakTokenCircuitBreaker,
+      @Value("${keycloak.resilience.hedge-refresh:false}") boolean hedgeRefresh,
+      @Value("${keycloak.server-url}") String serverUrl,
+      @Value("${keycloak.realm}") String realm,
+      @Value("${keycloak.client-id}") String clientId,
+      @Value("${keycloak.client-secret}") String clientSecret) {
+    this.tokenWebClient = tokenWebClient;
+    this.userInfoWebClient = userInfoWebClient;
+    this.meterRegistry = meterRegistry;
+    this.circuitBreaker = keycloakTokenCircuitBreaker;
+    this.hedgeRefresh = hedgeRefresh;
+    this.refreshLatency =
+        Timer.builder("keycloak.client.refresh.latency")
+            .description("Refresh grant latency; its p95 sets the hedging delay")
+            .publishPercentiles(0.95)
+            .distributionStatisticExpiry(Duration.ofMinutes(2))
+            .register(meterRegistry);
+    this.hedgedRefreshes =
+        Counter.builder("keycloak.client.refresh.hedged")
+            .description("Refresh grants for which a hedged request was sent")
+            .register(meterRegistry);
+    String realmUrl = serverUrl + "/realms/" + realm + "/protocol/openid-connect";
+    this.tokenUrl = realmUrl + "/token";
+    this.userInfoUrl = realmUrl + "/userinfo";
+    this.clientId = clientId;
+    this.clientSecret = clientSecret;
+    log.info("Keycloak token endpoint resolved to {}", tokenUrl);
+  }
+
+  /** Whether Keycloak rejected a grant as {@code invalid_grant}, e.g. wrong user credentials. */
+  public static boolean isInvalidGrant(Throwable error) {
+    return error instanceof WebClientResponseException response
+        && response.getStatusCode().is4xxClientError()
+        && response.getResponseBodyAsString().contains("invalid_grant");
+  }
+
+  /** Resource owner password grant. */
+  public Mono<TokenResponse> passwordGrant(String username, String password) {
+    MultiValueMap<String, String> formData = clientCredentialsForm("password");
+    formData.add("username", username);
+    formData.add("password", password);
+    return postToTokenEndpoint(formData, "password");
+  }
+
+  /**
+   * Refresh token grant. With {@code keycloak.resilience.hedge-refresh} a second identical request
+   * is sent if the first has not answered within the observed p95 latency. The first token wins and
+   * the other request is cancelled; a transient failure of one request does not end the race, but a
+   * 4xx from the first one is final and also cancels the hedge.
+   */
+  public Mono<TokenResponse> refreshGrant(String refreshToken) {
+    MultiValueMap<String, String> formData = clientCredentialsForm("refresh_token");
+    formData.add("refresh_token", refreshToken);
+
+    if (!hedgeRefresh) {
+      return postToTokenEndpoint(formData, "refresh_token");
+    }
+    return Mono.defer(
+        () -> {
+          long startNanos = System.nanoTime();
+          Sinks.One<Throwable> rejection = Sinks.one();
+          Mono<TokenResponse> attempt =
+              send(formData, "refresh_token")
+                  .doOnError(KeycloakTokenClient::isClientError, rejection::tryEmitValue);
+          Mono<TokenResponse> hedge =
+              Mono.firstWithSignal(
+                  Mono.delay(hedgeDelay())
+                      .doOnNext(tick -> hedgedRefreshes.increment())
+                      .then(Mono.defer(() -> send(formData, "refresh_token"))),
+                  rejection.asMono().<TokenResponse>flatMap(Mono::error));
+          return Mono.firstWithValue(attempt, hedge)
+              .onErrorMap(NoSuchElementException.class, KeycloakTokenClient::firstFailure)
+              .doOnSuccess(
+                  token ->
+                      refreshLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS))
+              .transformDeferred(this::guarded);
+        });
+  }
+
+  /**
+   * Token exchange on behalf of a user (RFC 8693 with {@code requested_subject}). Issues access and
+   * refresh tokens for the given Keycloak user without a password. Requires Keycloak's token
+   * exchange feature and an impersonation permission for this client.
+   */
+  public Mono<TokenResponse> exchangeForUser(UUID keycloakId) {
+    MultiValueMap<String, String> formData = clientCredentialsForm(TOKEN_EXCHANGE_GRANT);
+    formData.add("requested_subject", keycloakId.toString());
+    formData.add("requested_token_type", REFRESH_TOKEN_TYPE);
+    return postToTokenEndpoint(formData, "token_exchange");
+  }
+
+  /** Fetch the userinfo claims for an access token. */
+  public Mono<Map<String, Object>> userInfo(String accessToken) {
+    return userInfoWebClient
+        .get()
+        .uri(userInfoUrl)
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+        .retrieve()
+        .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+        .timeout(USERINFO_TIMEOUT)
+        .transform(mono -> timed(mono, "userinfo", "none"));
+  }
+
+  private Mono<TokenResponse> postToTokenEndpoint(
+      MultiValueMap<String, String> formData, String grantType) {
+    return send(formData, grantType).transformDeferred(this::guarded);
+  }
+
+  /** Fail fast while the circuit is open instead of waiting on an unhealthy Keycloak. */
+  private Mono<TokenResponse> guarded(Mono<TokenResponse> call) {
+    return call.transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+        .onErrorMap(
+            CallNotPermittedException.class,
+            error ->
+                new ServiceUnavailableException(
+                    "Authentication service temporarily unavailable, please retry shortly",
+                    retryAfter()));
+  }
+
+  private Duration retryAfter() {
+    long waitMillis =
+        circuitBreaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1);
+    return Duration.ofMillis(Math.max(waitMillis, 1000));
+  }
+
+  private Duration hedgeDelay() {
+    ValueAtPercentile[] percentiles = refreshLatency.takeSnapshot().percentileValues();
+    double p95Millis =
+        percentiles.length > 0 ? percentiles[0].value(TimeUnit.MILLISECONDS) : Double.NaN;
+    if (Double.isNaN(p95Millis) || p95Millis <= 0) {
+      return DEFAULT_HEDGE_DELAY;
+    }
+    return Duration.ofMillis(Math.max(MIN_HEDGE_DELAY.toMillis(), Math.round(p95Millis)));
+  }
+
+  private Mono<TokenResponse> send(MultiValueMap<String, String> formData, String grantType) {
+    return tokenWebClient
+        .post()
+        .uri(tokenUrl)
+        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+        .bodyValue(formData)
+        .retrieve()
+        .bodyToMono(TokenResponse.class)
+        .timeout(TOKEN_TIMEOUT)
+        .transform(mono -> timed(mono, "token", grantType));
+  }
+
+  private static boolean isClientError(Throwable error) {
+    return error instanceof WebClientResponseException response
+        && response.getStatusCode().is4xxClientError();
+  }
+
+  /** Surface the first request's own error once every hedged request has failed. */
+  private static Throwable firstFailure(NoSuchElementException error) {
+    if (error.getCause() == null) {
+      return error;
+    }
+    List<Throwable> failures = Exceptions.unwrapMultiple(error.getCause());
+    return failures.isEmpty() ? error : failures.get(0);
+  }
+
+  private MultiValueMap<String, String> clientCredentialsForm(String grantType) {
+    MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+    formData.add("grant_type", grantType);
+    formData.add("client_id", clientId);
+    formData.add("client_secret", clientSecret);
+    return formData;
+  }
+
+  private <T> Mono<T> timed(Mono<T> call, String endpoint, String grantType) {
+    return Mono.defer(
+        () -> {
+          Timer.Sample sample = Timer.start(meterRegistry);
+          return call.doOnSuccess(result -> stop(sample, endpoint, grantType, "success"))
+              .doOnError(error -> stop(sample, endpoint, grantType, "error"));
+        });
+  }
+
+  private void stop(Timer.Sample sample, String endpoint, String grantType, String outcome) {
+    sample.stop(
+        Timer.builder("keycloak.client.requests")
+            .description("Latency of calls to Keycloak OpenID Connect endpoints")
+            .tag("endpoint", endpoint)
+            .tag("grant_type", grantType)
+            .tag("outcome", outcome)
+            .register(meterRegistry));
+  }
+}
@@ -9,6 +9,9 @@ import org.springframework.context.annotation.Configuration;
 /**
  * Production-ready Flyway configuration for database migrations. Handles schema versioning and
  * migration management.
+ *
+ * <p>Migrations are applied by {@code SchemaMigrationJob}, not on a normal start; see {@code
+ * SchemaMigrationRunner} for the serving {@code schema.mode} options.
  */
 @Slf4j
 @Configuration
@@ -23,13 +26,16 @@ public class FlywayConfig {
   @Value("${spring.flyway.password}")
   private String flywayPassword;
 
-  @Bean(initMethod = "migrate")
+  @Value("${spring.flyway.locations:classpath:db/migration}")
+  private String[] flywayLocations;
+
+  @Bean
   public Flyway flyway() {
-    log.info("Initializing Flyway migrations for database schema management");
+    log.info("Initializing Flyway for database schema management");
 
     return Flyway.configure()
         .dataSource(flywayUrl, flywayUser, flywayPassword)
-        .locations("classpath:db/migration")
+        .locations(flywayLocations)
         .baselineOnMigrate(true) // Handle existing databases gracefully
         .validateOnMigrate(true) // Validate migrations
         .outOfOrder(false) // Enforce migration order
@@ -0,0 +1,35 @@
+package com.shikshaspace.userservice.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Connection pool settings shared by the outbound HTTP clients (Keycloak, Google). Each client gets
+ * its own pool built from these values.
+ */
+@Data
+@ConfigurationProperties(prefix = "http-client.pool")
+public class HttpClientPoolProperties {
+
+  /** Maximum open connections per pool. */
+  private int maxConnections = 100;
+
+  /** Maximum requests allowed to wait for a connection before failing fast. */
+  private int pendingAcquireMaxCount = 500;
+
+  /** Maximum time a request waits for a pooled connection. */
+  private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+
+  /** Idle connections older than this are closed. */
+  private Duration maxIdleTime = Duration.ofSeconds(30);
+
+  /** Connections are recycled after this lifetime, idle or not. */
+  private Duration maxLifeTime = Duration.ofMinutes(10);
+
+  /** Interval of the background idle/lifetime eviction sweep. */
+  private Duration evictInBackground = Duration.ofSeconds(30);
+
+  /** TCP connect timeout. */
+  private Duration connectTimeout = Duration.ofSeconds(2);
+}
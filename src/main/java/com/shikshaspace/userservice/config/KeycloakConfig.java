@@ -1,5 +1,11 @@
 package com.shikshaspace.userservice.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.keycloak.OAuth2Constants;
 import org.keycloak.admin.client.Keycloak;
@@ -7,6 +13,9 @@ import org.keycloak.admin.client.KeycloakBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Keycloak Admin Client configuration for user management operations. Uses service account
@@ -34,6 +43,12 @@ public class KeycloakConfig {
   @Value("${keycloak.admin.password}")
   private String adminPassword;
 
+  @Value("${keycloak.admin.executor.threads:16}")
+  private int adminExecutorThreads;
+
+  @Value("${keycloak.admin.executor.queue-capacity:200}")
+  private int adminExecutorQueueCapacity;
+
   /**
    * Creates Keycloak admin client for user and realm management. Uses admin credentials with
    * sufficient privileges.
@@ -51,4 +66,33 @@ public class KeycloakConfig {
         .password(adminPassword)
         .build();
   }
+
+  /**
+   * Bulkhead for blocking Keycloak admin client calls. A fixed pool with a bounded queue keeps a
+   * slow Keycloak from exhausting threads used by unrelated work; once full, calls are rejected at
+   * once. Queue depth and utilisation are exported as {@code executor.*} metrics named
+   * keycloak.admin.
+   */
+  @Bean(destroyMethod = "dispose")
+  public Scheduler keycloakAdminScheduler(MeterRegistry meterRegistry) {
+    log.info(
+        "Initializing Keycloak admin executor (threads={}, queueCapacity={})",
+        adminExecutorThreads,
+        adminExecutorQueueCapacity);
+
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            adminExecutorThreads,
+            adminExecutorThreads,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(adminExecutorQueueCapacity),
+            new CustomizableThreadFactory("keycloak-admin-"),
+            new ThreadPoolExecutor.AbortPolicy());
+    executor.allowCoreThreadTimeOut(true);
+
+    ExecutorService monitored =
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "keycloak.admin");
+    return Schedulers.fromExecutorService(monitored, "keycloak-admin");
+  }
 }
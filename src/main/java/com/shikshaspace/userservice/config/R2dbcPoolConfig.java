@@ -0,0 +1,19 @@
+package com.shikshaspace.userservice.config;
+
+import com.shikshaspace.userservice.db.ConnectionPoolInstrumenter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/** Acquire/hold-time metrics and optional adaptive sizing for the R2DBC connection pool. */
+@Configuration
+public class R2dbcPoolConfig {
+
+  @Bean
+  public static ConnectionPoolInstrumenter connectionPoolInstrumenter(
+      ObjectProvider<MeterRegistry> meterRegistry, Environment environment) {
+    return new ConnectionPoolInstrumenter(meterRegistry, environment);
+  }
+}
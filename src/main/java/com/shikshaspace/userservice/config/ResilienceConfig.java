@@ -0,0 +1,84 @@
+package com.shikshaspace.userservice.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Circuit breaker configuration for calls to the Keycloak token endpoint. Only server-side failures
+ * (5xx, timeouts, connection errors) count against the breaker; 4xx responses such as bad
+ * credentials are normal outcomes. State and call metrics are exported as {@code
+ * resilience4j.circuitbreaker.*}.
+ */
+@Slf4j
+@Configuration
+public class ResilienceConfig {
+
+  public static final String KEYCLOAK_TOKEN_BREAKER = "keycloak-token";
+
+  @Value("${keycloak.resilience.failure-rate-threshold:50}")
+  private float failureRateThreshold;
+
+  @Value("${keycloak.resilience.slow-call-threshold:5s}")
+  private Duration slowCallThreshold;
+
+  @Value("${keycloak.resilience.sliding-window-size:50}")
+  private int slidingWindowSize;
+
+  @Value("${keycloak.resilience.minimum-calls:20}")
+  private int minimumCalls;
+
+  @Value("${keycloak.resilience.open-duration:15s}")
+  private Duration openDuration;
+
+  @Value("${keycloak.resilience.half-open-calls:5}")
+  private int halfOpenCalls;
+
+  @Bean
+  public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry) {
+    CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+    TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+    return registry;
+  }
+
+  @Bean
+  public CircuitBreaker keycloakTokenCircuitBreaker(CircuitBreakerRegistry registry) {
+    log.info(
+        "Initializing Keycloak token circuit breaker (failureRate={}%, openFor={})",
+        failureRateThreshold, openDuration);
+
+    CircuitBreakerConfig config =
+        CircuitBreakerConfig.custom()
+            .failureRateThreshold(failureRateThreshold)
+            .slowCallRateThreshold(failureRateThreshold)
+            .slowCallDurationThreshold(slowCallThreshold)
+            .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+            .slidingWindowSize(slidingWindowSize)
+            .minimumNumberOfCalls(minimumCalls)
+            .waitDurationInOpenState(openDuration)
+            .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+            .automaticTransitionFromOpenToHalfOpenEnabled(true)
+            .recordException(ResilienceConfig::isServerFailure)
+            .build();
+
+    CircuitBreaker circuitBreaker = registry.circuitBreaker(KEYCLOAK_TOKEN_BREAKER, config);
+    circuitBreaker
+        .getEventPublisher()
+        .onStateTransition(
+            event -> log.warn("⚠️ Keycloak token circuit breaker: {}", event.getStateTransition()));
+    return circuitBreaker;
+  }
+
+  private static boolean isServerFailure(Throwable error) {
+    return !(error instanceof WebClientResponseException response)
+        || response.getStatusCode().is5xxServerError();
+  }
+}
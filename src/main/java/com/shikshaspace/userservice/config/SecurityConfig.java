@@ -1,21 +1,28 @@
 package com.shikshaspace.userservice.config;
 
+import com.shikshaspace.userservice.cache.CachingJwtAuthenticationManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtReactiveAuthenticationManager;
 import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import reactor.core.publisher.Mono;
@@ -36,7 +43,8 @@ public class SecurityConfig {
 
   /** Configures HTTP security with JWT validation and endpoint authorization. */
   @Bean
-  public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+  public SecurityWebFilterChain securityWebFilterChain(
+      ServerHttpSecurity http, ReactiveAuthenticationManager jwtAuthenticationManager) {
     log.info("Configuring security filter chain with JWT authentication");
 
     return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
@@ -44,11 +52,28 @@ public class SecurityConfig {
             exchanges ->
                 exchanges.pathMatchers(PUBLIC_ENDPOINTS).permitAll().anyExchange().authenticated())
         .oauth2ResourceServer(
-            oauth2 ->
-                oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(grantedAuthoritiesExtractor())))
+            oauth2 -> oauth2.jwt(jwt -> jwt.authenticationManager(jwtAuthenticationManager)))
         .build();
   }
 
+  /**
+   * Verifies bearer JWTs and converts their roles, caching the result per token so repeat requests
+   * skip both steps.
+   */
+  @Bean
+  public ReactiveAuthenticationManager jwtAuthenticationManager(
+      ReactiveJwtDecoder jwtDecoder,
+      MeterRegistry meterRegistry,
+      @Value("${security.jwt-cache.enabled:true}") boolean cacheEnabled,
+      @Value("${security.jwt-cache.max-size:10000}") long maxSize,
+      @Value("${security.jwt-cache.max-ttl:5m}") Duration maxTtl) {
+    JwtReactiveAuthenticationManager manager = new JwtReactiveAuthenticationManager(jwtDecoder);
+    manager.setJwtAuthenticationConverter(grantedAuthoritiesExtractor());
+    return cacheEnabled
+        ? new CachingJwtAuthenticationManager(manager, meterRegistry, maxSize, maxTtl)
+        : manager;
+  }
+
   /** Extracts roles from Keycloak JWT token and converts to Spring Security authorities. */
   @Bean
   public Converter<Jwt, Mono<AbstractAuthenticationToken>> grantedAuthoritiesExtractor() {
@@ -0,0 +1,100 @@
+package com.shikshaspace.userservice.config;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Long-lived, pooled WebClients for outbound calls. Every endpoint gets its own named connection
+ * pool so pool usage and acquire latency are reported per endpoint under {@code
+ * reactor.netty.connection.provider.*}.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(HttpClientPoolProperties.class)
+public class WebClientConfig {
+
+  public static final String KEYCLOAK_TOKEN_POOL = "keycloak-token";
+  public static final String KEYCLOAK_USERINFO_POOL = "keycloak-userinfo";
+  public static final String KEYCLOAK_ADMIN_POOL = "keycloak-admin";
+  public static final String GOOGLE_POOL = "google";
+
+  private final List<ConnectionProvider> providers = new CopyOnWriteArrayList<>();
+
+  /** Client for the Keycloak token endpoint (password and refresh grants). */
+  @Bean
+  public WebClient keycloakTokenWebClient(
+      WebClient.Builder webClientBuilder, HttpClientPoolProperties properties) {
+    return pooledWebClient(webClientBuilder, properties, KEYCLOAK_TOKEN_POOL);
+  }
+
+  /** Client for the Keycloak userinfo endpoint. */
+  @Bean
+  public WebClient keycloakUserInfoWebClient(
+      WebClient.Builder webClientBuilder, HttpClientPoolProperties properties) {
+    return pooledWebClient(webClientBuilder, properties, KEYCLOAK_USERINFO_POOL);
+  }
+
+  /** Client for the Keycloak admin REST API. */
+  @Bean
+  public WebClient keycloakAdminWebClient(
+      WebClient.Builder webClientBuilder, HttpClientPoolProperties properties) {
+    return pooledWebClient(webClientBuilder, properties, KEYCLOAK_ADMIN_POOL);
+  }
+
+  /** Client for Google APIs used by Google Sign-In. */
+  @Bean
+  public WebClient googleWebClient(
+      WebClient.Builder webClientBuilder, HttpClientPoolProperties properties) {
+    return pooledWebClient(webClientBuilder, properties, GOOGLE_POOL);
+  }
+
+  private WebClient pooledWebClient(
+      WebClient.Builder webClientBuilder, HttpClientPoolProperties properties, String name) {
+    log.info(
+        "Initializing HTTP connection pool '{}' (maxConnections={})",
+        name,
+        properties.getMaxConnections());
+
+    ConnectionProvider provider =
+        ConnectionProvider.builder(name)
+            .maxConnections(properties.getMaxConnections())
+            .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+            .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+            .maxIdleTime(properties.getMaxIdleTime())
+            .maxLifeTime(properties.getMaxLifeTime())
+            .evictInBackground(properties.getEvictInBackground())
+            .metrics(true)
+            .build();
+    providers.add(provider);
+
+    HttpClient httpClient =
+        HttpClient.create(provider)
+            .option(
+                ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                (int) properties.getConnectTimeout().toMillis())
+            .option(ChannelOption.SO_KEEPALIVE, true)
+            .keepAlive(true)
+            // Tag by pool name, never by raw URI (query strings may carry tokens)
+            .metrics(true, uri -> name);
+
+    return webClientBuilder
+        .clone()
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
+        .build();
+  }
+
+  @PreDestroy
+  public void disposePools() {
+    providers.forEach(ConnectionProvider::dispose);
+  }
+}
@@ -1,16 +1,23 @@
 package com.shikshaspace.userservice.controller;
 
+import com.shikshaspace.userservice.client.KeycloakTokenClient;
 import com.shikshaspace.userservice.dto.request.GoogleSignInRequest;
 import com.shikshaspace.userservice.dto.request.LoginRequest;
 import com.shikshaspace.userservice.dto.request.RefreshTokenRequest;
 import com.shikshaspace.userservice.dto.request.RegisterRequest;
 import com.shikshaspace.userservice.dto.response.AuthResponse;
+import com.shikshaspace.userservice.exception.ServiceUnavailableException;
+import com.shikshaspace.userservice.exception.TooManyRequestsException;
 import com.shikshaspace.userservice.service.AuthService;
 import com.shikshaspace.userservice.service.OAuth2Service;
+import com.shikshaspace.userservice.throttle.AuthConcurrencyLimiter;
+import com.shikshaspace.userservice.throttle.AuthThrottle;
 import jakarta.validation.Valid;
+import java.time.Duration;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
@@ -23,20 +30,29 @@ public class AuthController {
 
   private final AuthService authService;
   private final OAuth2Service oAuth2Service;
+  private final AuthThrottle authThrottle;
+  private final AuthConcurrencyLimiter authConcurrencyLimiter;
 
   @PostMapping("/register")
-  public Mono<ResponseEntity<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
-    log.info("🔵 Registration request received for: {}", request.getUsername());
+  public Mono<ResponseEntity<AuthResponse>> register(
+      @Valid @RequestBody RegisterRequest request, ServerHttpRequest httpRequest) {
+    log.debug("🔵 Registration request received for: {}", request.getUsername());
 
-    return authService
-        .register(request)
+    Duration retryAfter = authThrottle.checkRegister(httpRequest);
+    if (!retryAfter.isZero()) {
+      return Mono.error(new TooManyRequestsException("Too many registration attempts", retryAfter));
+    }
+
+    return authConcurrencyLimiter
+        .execute(AuthConcurrencyLimiter.REGISTER, () -> authService.register(request))
         .map(
             response -> {
-              log.info("✅ Registration successful: {}", response.getUsername());
+              log.debug("✅ Registration successful: {}", response.getUsername());
               return ResponseEntity.ok(response);
             })
         .doOnError(error -> log.error("❌ Registration failed: {}", error.getMessage(), error))
         .onErrorResume(
+            error -> !(error instanceof ServiceUnavailableException),
             error -> {
               log.error("❌ Registration error: {}", error.getMessage());
               return Mono.just(ResponseEntity.badRequest().build());
@@ -44,34 +60,52 @@ public class AuthController {
   }
 
   @PostMapping("/login")
-  public Mono<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
-    log.info("🔵 Login request received for: {}", request.getUsername());
+  public Mono<ResponseEntity<AuthResponse>> login(
+      @Valid @RequestBody LoginRequest request, ServerHttpRequest httpRequest) {
+    log.debug("🔵 Login request received for: {}", request.getUsername());
+
+    Duration retryAfter = authThrottle.checkLogin(httpRequest, request.getUsername());
+    if (!retryAfter.isZero()) {
+      return Mono.error(new TooManyRequestsException("Too many login attempts", retryAfter));
+    }
 
-    return authService
-        .login(request)
+    return authConcurrencyLimiter
+        .execute(AuthConcurrencyLimiter.LOGIN, () -> authService.login(request))
         .map(
             response -> {
-              log.info("✅ Login successful: {}", response.getUsername());
+              log.debug("✅ Login successful: {}", response.getUsername());
               return ResponseEntity.ok(response);
             })
-        .doOnError(error -> log.error("❌ Login failed: {}", error.getMessage()))
-        .onErrorResume(error -> Mono.just(ResponseEntity.status(401).build()));
+        .doOnError(
+            error -> {
+              log.error("❌ Login failed: {}", error.getMessage());
+              if (KeycloakTokenClient.isInvalidGrant(error)) {
+                authThrottle.recordLoginFailure(httpRequest, request.getUsername());
+              }
+            })
+        .onErrorResume(
+            error -> !(error instanceof ServiceUnavailableException),
+            error -> Mono.just(ResponseEntity.status(401).build()));
   }
 
   @PostMapping("/oauth2/google")
   public Mono<ResponseEntity<AuthResponse>> googleSignIn(
       @Valid @RequestBody GoogleSignInRequest request) {
-    log.info("🔵 Google Sign-In request received");
+    log.debug("🔵 Google Sign-In request received");
 
-    return oAuth2Service
-        .handleGoogleSignIn(request.getGoogleIdToken())
+    return authConcurrencyLimiter
+        .execute(
+            AuthConcurrencyLimiter.GOOGLE_SIGN_IN,
+            () -> oAuth2Service.handleGoogleSignIn(request.getGoogleIdToken()))
         .map(
             response -> {
-              log.info("✅ Google Sign-In successful: {}", response.getUsername());
+              log.debug("✅ Google Sign-In successful: {}", response.getUsername());
               return ResponseEntity.ok(response);
             })
         .doOnError(error -> log.error("❌ Google Sign-In failed: {}", error.getMessage(), error))
-        .onErrorResume(error -> Mono.just(ResponseEntity.badRequest().build()));
+        .onErrorResume(
+            error -> !(error instanceof ServiceUnavailableException),
+            error -> Mono.just(ResponseEntity.badRequest().build()));
   }
 
   @PostMapping("/refresh")
@@ -79,8 +113,8 @@ public class AuthController {
       @Valid @RequestBody RefreshTokenRequest request) {
     log.debug("🔵 Token refresh request received");
 
-    return authService
-        .refreshToken(request)
+    return authConcurrencyLimiter
+        .execute(AuthConcurrencyLimiter.REFRESH, () -> authService.refreshToken(request))
         .map(ResponseEntity::ok)
         .defaultIfEmpty(ResponseEntity.status(401).build());
   }
@@ -1,15 +1,25 @@
 package com.shikshaspace.userservice.controller;
 
+import com.shikshaspace.userservice.dto.request.BatchUserLookupRequest;
+import com.shikshaspace.userservice.dto.request.RegisterRequest;
 import com.shikshaspace.userservice.dto.request.UpdateProfileRequest;
+import com.shikshaspace.userservice.dto.request.UserSearchCriteria;
+import com.shikshaspace.userservice.dto.response.BatchUserLookupResponse;
+import com.shikshaspace.userservice.dto.response.ImportResultResponse;
+import com.shikshaspace.userservice.dto.response.UserPageResponse;
 import com.shikshaspace.userservice.dto.response.UserResponse;
 import com.shikshaspace.userservice.mapper.UserMapper;
+import com.shikshaspace.userservice.service.UserImportService;
 import com.shikshaspace.userservice.service.UserService;
 import jakarta.validation.Valid;
 import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
@@ -25,48 +35,114 @@ import reactor.core.publisher.Mono;
 public class UserController {
 
   private final UserService userService;
+  private final UserImportService userImportService;
   private final UserMapper userMapper;
 
-  /** Get all users (Admin only). */
+  /**
+   * List users one keyset page at a time (Admin only). Pass the returned {@code nextCursor} to
+   * fetch the next page.
+   */
   @GetMapping
   @PreAuthorize("hasRole('ADMIN')")
-  public Flux<UserResponse> getAllUsers() {
-    log.info("Fetching all users");
-    return userService.getAllUsers().map(userMapper::toResponse);
+  public Mono<UserPageResponse> getAllUsers(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(required = false) Boolean active,
+      @RequestParam(required = false) Boolean emailVerified,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime createdFrom,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime createdTo) {
+    log.debug("Listing users page (size={})", size);
+
+    UserSearchCriteria criteria =
+        UserSearchCriteria.builder()
+            .active(active)
+            .emailVerified(emailVerified)
+            .createdFrom(createdFrom)
+            .createdTo(createdTo)
+            .build();
+    return userService.listUsers(criteria, cursor, size);
+  }
+
+  /**
+   * Stream all users as newline-delimited JSON (Admin only). Rows are read in keyset chunks on
+   * demand, so a slow client slows the database reads instead of buffering in memory.
+   */
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @PreAuthorize("hasRole('ADMIN')")
+  public Flux<UserResponse> exportUsers() {
+    log.info("Streaming user export");
+    return userService.exportUsers().map(userMapper::toResponse);
+  }
+
+  /**
+   * Bulk import users from newline-delimited JSON registrations (Admin only). Streams back one
+   * result per row in input order.
+   */
+  @PostMapping(
+      value = "/import",
+      consumes = MediaType.APPLICATION_NDJSON_VALUE,
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @PreAuthorize("hasRole('ADMIN')")
+  public Flux<ImportResultResponse> importUsers(@RequestBody Flux<RegisterRequest> requests) {
+    log.info("Starting bulk user import (NDJSON)");
+    return userImportService.importUsers(requests);
+  }
+
+  /**
+   * Bulk import users from CSV with columns {@code username,email,password,firstName,lastName}
+   * (Admin only).
+   */
+  @PostMapping(
+      value = "/import",
+      consumes = "text/csv",
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @PreAuthorize("hasRole('ADMIN')")
+  public Flux<ImportResultResponse> importUsersCsv(@RequestBody Flux<String> lines) {
+    log.info("Starting bulk user import (CSV)");
+    return userImportService.importCsv(lines);
   }
 
   /** Get current authenticated user profile. */
   @GetMapping("/me")
   public Mono<UserResponse> getCurrentUser(Principal principal) {
-    log.info("Fetching profile for authenticated user");
+    log.debug("Fetching profile for authenticated user");
 
     String username = extractUsername(principal);
 
     return userService
         .getUserByUsername(username)
         .map(userMapper::toResponse)
-        .doOnSuccess(response -> log.info("Profile fetched for user: {}", username))
+        .doOnSuccess(response -> log.debug("Profile fetched for user: {}", username))
         .doOnError(e -> log.error("Error fetching profile: {}", e.getMessage()));
   }
 
+  /** Resolve many users by id, username or keycloakId in one call. */
+  @PostMapping("/batch")
+  public Mono<BatchUserLookupResponse> lookupUsers(@RequestBody BatchUserLookupRequest request) {
+    log.debug("Batch user lookup");
+    return userService.lookupUsers(request);
+  }
+
   /** Get user by ID. */
   @GetMapping("/{id}")
   public Mono<UserResponse> getUserById(@PathVariable UUID id) {
-    log.info("Fetching user by ID: {}", id);
+    log.debug("Fetching user by ID: {}", id);
     return userService.getUserById(id).map(userMapper::toResponse);
   }
 
   /** Get user by email. */
   @GetMapping("/email/{email}")
   public Mono<UserResponse> getUserByEmail(@PathVariable String email) {
-    log.info("Fetching user by email: {}", email);
+    log.debug("Fetching user by email: {}", email);
     return userService.getUserByEmail(email).map(userMapper::toResponse);
   }
 
   /** Get user by username. */
   @GetMapping("/username/{username}")
   public Mono<UserResponse> getUserByUsername(@PathVariable String username) {
-    log.info("Fetching user by username: {}", username);
+    log.debug("Fetching user by username: {}", username);
     return userService.getUserByUsername(username).map(userMapper::toResponse);
   }
 
@@ -77,12 +153,12 @@ public class UserController {
       @Valid @RequestBody UpdateProfileRequest request,
       Principal principal) {
 
-    log.info("Updating profile for user ID: {}", id);
+    log.debug("Updating profile for user ID: {}", id);
 
     return userService
         .updateProfile(id, request)
         .map(userMapper::toResponse)
-        .doOnSuccess(response -> log.info("Profile updated for user ID: {}", id))
+        .doOnSuccess(response -> log.debug("Profile updated for user ID: {}", id))
         .doOnError(e -> log.error("Error updating profile: {}", e.getMessage()));
   }
 
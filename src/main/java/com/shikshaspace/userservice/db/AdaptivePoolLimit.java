@@ -0,0 +1,159 @@
+package com.shikshaspace.userservice.db;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.R2dbcTransientResourceException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Effective connection limit below the pool's configured maximum, adjusted from measured acquire
+ * latency. Every interval the limit grows by one step while the average acquire wait is above the
+ * target, and shrinks by one step while less than half of it was used. Connections above the limit
+ * are never opened, so the database sees only the concurrency the service actually needs; idle
+ * connections are retired by the pool's max-idle-time as usual. At most {@code maxWaiters} callers
+ * may wait for a permit; beyond that {@link #acquire()} fails immediately.
+ */
+@Slf4j
+class AdaptivePoolLimit {
+
+  private final String name;
+  private final int minSize;
+  private final int maxSize;
+  private final int step;
+  private final int maxWaiters;
+  private final long targetAcquireNanos;
+  private final AtomicInteger inUse = new AtomicInteger();
+  private final AtomicInteger peakInUse = new AtomicInteger();
+  private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final LongAdder acquireNanos = new LongAdder();
+  private final LongAdder acquireCount = new LongAdder();
+  private final Disposable controller;
+  private volatile int limit;
+
+  AdaptivePoolLimit(
+      String name,
+      int minSize,
+      int maxSize,
+      int step,
+      int maxWaiters,
+      Duration targetAcquireLatency,
+      Duration interval,
+      MeterRegistry meterRegistry) {
+    this.name = name;
+    this.minSize = Math.max(1, Math.min(minSize, maxSize));
+    this.maxSize = maxSize;
+    this.step = Math.max(1, step);
+    this.maxWaiters = Math.max(1, maxWaiters);
+    this.targetAcquireNanos = targetAcquireLatency.toNanos();
+    this.limit = this.minSize;
+
+    Gauge.builder("r2dbc.pool.adaptive.limit", this, pool -> pool.limit)
+        .description("Current adaptive connection limit")
+        .tag("name", name)
+        .register(meterRegistry);
+
+    this.controller = Flux.interval(interval, interval).subscribe(tick -> adjust());
+  }
+
+  /** Wait until a connection may be taken from the pool. */
+  Mono<Void> acquire() {
+    return Mono.create(
+        sink -> {
+          if (waiting.incrementAndGet() > maxWaiters) {
+            waiting.decrementAndGet();
+            sink.error(
+                new R2dbcTransientResourceException(
+                    "R2DBC pool '" + name + "' has " + maxWaiters + " callers waiting already"));
+            return;
+          }
+          Waiter waiter = new Waiter(sink);
+          sink.onCancel(() -> cancel(waiter));
+          waiters.add(waiter);
+          drain();
+        });
+  }
+
+  /** Give back a permit taken by {@link #acquire()}. */
+  void release() {
+    inUse.decrementAndGet();
+    drain();
+  }
+
+  void recordAcquireLatency(long nanos) {
+    acquireNanos.add(nanos);
+    acquireCount.increment();
+  }
+
+  void dispose() {
+    controller.dispose();
+  }
+
+  private void cancel(Waiter waiter) {
+    if (waiter.claimed.compareAndSet(false, true)) {
+      waiting.decrementAndGet();
+      waiters.remove(waiter);
+    } else {
+      // drain() granted the permit concurrently; the cancelled sink drops it, so hand it back
+      release();
+    }
+  }
+
+  private void drain() {
+    while (!waiters.isEmpty()) {
+      int current = inUse.get();
+      if (current >= limit) {
+        return;
+      }
+      if (!inUse.compareAndSet(current, current + 1)) {
+        continue;
+      }
+      Waiter waiter = waiters.poll();
+      if (waiter == null || !waiter.claimed.compareAndSet(false, true)) {
+        // Queue emptied or waiter cancelled: hand the permit back and look again
+        inUse.decrementAndGet();
+        continue;
+      }
+      waiting.decrementAndGet();
+      peakInUse.accumulateAndGet(current + 1, Math::max);
+      waiter.sink.success();
+    }
+  }
+
+  private void adjust() {
+    long count = acquireCount.sumThenReset();
+    long total = acquireNanos.sumThenReset();
+    int peak = peakInUse.getAndSet(inUse.get());
+    int previous = limit;
+
+    if (count > 0 && total / count > targetAcquireNanos) {
+      limit = Math.min(maxSize, previous + step);
+    } else if (peak < previous / 2) {
+      limit = Math.max(minSize, previous - step);
+    }
+
+    if (limit != previous) {
+      log.info("R2DBC pool '{}' adaptive limit {} -> {}", name, previous, limit);
+      drain();
+    }
+  }
+
+  private static final class Waiter {
+    private final MonoSink<Void> sink;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    private Waiter(MonoSink<Void> sink) {
+      this.sink = sink;
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.shikshaspace.userservice.db;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.core.env.Environment;
+
+/**
+ * Replaces each {@link ConnectionPool} bean with an {@link InstrumentedConnectionFactory}, and adds
+ * the adaptive limit when {@code r2dbc.pool.adaptive.enabled} is set. The pool's configured {@code
+ * spring.r2dbc.pool.max-size} stays the hard upper bound.
+ *
+ * <p>Spring registers the destroy callback on the raw pool, so the wrapper (and the adaptive
+ * limit's controller) is closed from {@link #postProcessBeforeDestruction} instead.
+ */
+@Slf4j
+public class ConnectionPoolInstrumenter implements DestructionAwareBeanPostProcessor {
+
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+  private final Environment environment;
+  private final Map<String, InstrumentedConnectionFactory> instrumented = new ConcurrentHashMap<>();
+
+  public ConnectionPoolInstrumenter(
+      ObjectProvider<MeterRegistry> meterRegistry, Environment environment) {
+    this.meterRegistry = meterRegistry;
+    this.environment = environment;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (!(bean instanceof ConnectionPool pool)) {
+      return bean;
+    }
+    MeterRegistry registry = meterRegistry.getObject();
+    Duration holdWarningThreshold =
+        duration("r2dbc.pool.hold-warning-threshold", Duration.ofSeconds(2));
+
+    AdaptivePoolLimit adaptiveLimit = null;
+    if (environment.getProperty("r2dbc.pool.adaptive.enabled", Boolean.class, false)) {
+      int maxSize = environment.getProperty("spring.r2dbc.pool.max-size", Integer.class, 10);
+      adaptiveLimit =
+          new AdaptivePoolLimit(
+              beanName,
+              environment.getProperty("r2dbc.pool.adaptive.min-size", Integer.class, 10),
+              maxSize,
+              environment.getProperty("r2dbc.pool.adaptive.step", Integer.class, 5),
+              environment.getProperty("r2dbc.pool.adaptive.max-waiters", Integer.class, 1000),
+              duration("r2dbc.pool.adaptive.target-acquire-latency", Duration.ofMillis(20)),
+              duration("r2dbc.pool.adaptive.interval", Duration.ofSeconds(10)),
+              registry);
+      log.info("Adaptive R2DBC pool limit enabled for '{}' (max {})", beanName, maxSize);
+    }
+
+    log.info(
+        "Instrumenting R2DBC pool '{}' (hold warning after {})", beanName, holdWarningThreshold);
+    InstrumentedConnectionFactory factory =
+        new InstrumentedConnectionFactory(
+            beanName,
+            pool,
+            holdWarningThreshold,
+            adaptiveLimit,
+            environment.getProperty("spring.r2dbc.pool.max-acquire-time", Duration.class),
+            registry);
+    instrumented.put(beanName, factory);
+    return factory;
+  }
+
+  @Override
+  public boolean requiresDestruction(Object bean) {
+    return bean instanceof ConnectionPool;
+  }
+
+  @Override
+  public void postProcessBeforeDestruction(Object bean, String beanName) {
+    InstrumentedConnectionFactory factory = instrumented.remove(beanName);
+    if (factory != null) {
+      log.info("Closing instrumented R2DBC pool '{}'", beanName);
+      factory.close();
+    }
+  }
+
+  private Duration duration(String property, Duration defaultValue) {
+    return environment.getProperty(property, Duration.class, defaultValue);
+  }
+}
@@ -0,0 +1,128 @@
+package com.shikshaspace.userservice.db;
+
+import io.r2dbc.spi.Batch;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionMetadata;
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.Statement;
+import io.r2dbc.spi.TransactionDefinition;
+import io.r2dbc.spi.ValidationDepth;
+import io.r2dbc.spi.Wrapped;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+/** Pooled connection that reports its release exactly once when closed. */
+class InstrumentedConnection implements Connection, Wrapped<Connection> {
+
+  private final Connection delegate;
+  private final Runnable onRelease;
+  private final AtomicBoolean released = new AtomicBoolean();
+
+  InstrumentedConnection(Connection delegate, Runnable onRelease) {
+    this.delegate = delegate;
+    this.onRelease = onRelease;
+  }
+
+  @Override
+  public Publisher<Void> close() {
+    return Mono.from(delegate.close())
+        .doFinally(
+            signal -> {
+              if (released.compareAndSet(false, true)) {
+                onRelease.run();
+              }
+            });
+  }
+
+  @Override
+  public Connection unwrap() {
+    return delegate;
+  }
+
+  @Override
+  public Publisher<Void> beginTransaction() {
+    return delegate.beginTransaction();
+  }
+
+  @Override
+  public Publisher<Void> beginTransaction(TransactionDefinition definition) {
+    return delegate.beginTransaction(definition);
+  }
+
+  @Override
+  public Publisher<Void> commitTransaction() {
+    return delegate.commitTransaction();
+  }
+
+  @Override
+  public Batch createBatch() {
+    return delegate.createBatch();
+  }
+
+  @Override
+  public Publisher<Void> createSavepoint(String name) {
+    return delegate.createSavepoint(name);
+  }
+
+  @Override
+  public Statement createStatement(String sql) {
+    return delegate.createStatement(sql);
+  }
+
+  @Override
+  public boolean isAutoCommit() {
+    return delegate.isAutoCommit();
+  }
+
+  @Override
+  public ConnectionMetadata getMetadata() {
+    return delegate.getMetadata();
+  }
+
+  @Override
+  public IsolationLevel getTransactionIsolationLevel() {
+    return delegate.getTransactionIsolationLevel();
+  }
+
+  @Override
+  public Publisher<Void> releaseSavepoint(String name) {
+    return delegate.releaseSavepoint(name);
+  }
+
+  @Override
+  public Publisher<Void> rollbackTransaction() {
+    return delegate.rollbackTransaction();
+  }
+
+  @Override
+  public Publisher<Void> rollbackTransactionToSavepoint(String name) {
+    return delegate.rollbackTransactionToSavepoint(name);
+  }
+
+  @Override
+  public Publisher<Void> setAutoCommit(boolean autoCommit) {
+    return delegate.setAutoCommit(autoCommit);
+  }
+
+  @Override
+  public Publisher<Void> setLockWaitTimeout(Duration timeout) {
+    return delegate.setLockWaitTimeout(timeout);
+  }
+
+  @Override
+  public Publisher<Void> setStatementTimeout(Duration timeout) {
+    return delegate.setStatementTimeout(timeout);
+  }
+
+  @Override
+  public Publisher<Void> setTransactionIsolationLevel(IsolationLevel isolationLevel) {
+    return delegate.setTransactionIsolationLevel(isolationLevel);
+  }
+
+  @Override
+  public Publisher<Boolean> validate(ValidationDepth depth) {
+    return delegate.validate(depth);
+  }
+}
@@ -0,0 +1,171 @@
+package com.shikshaspace.userservice.db;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import io.r2dbc.spi.Wrapped;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Wraps the R2DBC {@link ConnectionPool} to record acquire and hold times as {@code
+ * r2dbc.pool.acquire} and {@code r2dbc.pool.hold} histograms, and to warn about connections held
+ * longer than a threshold. Pool gauges ({@code r2dbc.pool.acquired}, {@code idle}, {@code pending},
+ * ...) are still bound by Spring Boot, which unwraps this factory. With an adaptive limit, {@code
+ * maxAcquireTime} bounds the wait for a permit and the pool acquire together.
+ */
+@Slf4j
+public class InstrumentedConnectionFactory
+    implements ConnectionFactory, Wrapped<ConnectionFactory>, AutoCloseable {
+
+  private final String name;
+  private final ConnectionPool pool;
+  private final Duration holdWarningThreshold;
+  private final AdaptivePoolLimit adaptiveLimit;
+  private final Duration maxAcquireTime;
+  private final Timer acquireTimer;
+  private final Timer holdTimer;
+  private final Counter acquireFailures;
+  private final Counter longHolds;
+
+  InstrumentedConnectionFactory(
+      String name,
+      ConnectionPool pool,
+      Duration holdWarningThreshold,
+      AdaptivePoolLimit adaptiveLimit,
+      Duration maxAcquireTime,
+      MeterRegistry meterRegistry) {
+    this.name = name;
+    this.pool = pool;
+    this.holdWarningThreshold = holdWarningThreshold;
+    this.adaptiveLimit = adaptiveLimit;
+    this.maxAcquireTime = maxAcquireTime;
+    this.acquireTimer =
+        Timer.builder("r2dbc.pool.acquire")
+            .description("Time waiting for a pooled connection")
+            .tag("name", name)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    this.holdTimer =
+        Timer.builder("r2dbc.pool.hold")
+            .description("Time a connection is held before it is returned to the pool")
+            .tag("name", name)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    this.acquireFailures =
+        Counter.builder("r2dbc.pool.acquire.failures")
+            .description("Connection acquisitions that failed or timed out")
+            .tag("name", name)
+            .register(meterRegistry);
+    this.longHolds =
+        Counter.builder("r2dbc.pool.long.holds")
+            .description("Connections held longer than the warning threshold")
+            .tag("name", name)
+            .register(meterRegistry);
+  }
+
+  @Override
+  public Mono<Connection> create() {
+    return Mono.defer(
+        () -> {
+          long startNanos = System.nanoTime();
+          Mono<Connection> acquired =
+              Mono.from(pool.create())
+                  .doOnNext(
+                      connection -> acquireTimer.record(since(startNanos), TimeUnit.NANOSECONDS))
+                  .doOnError(error -> acquireFailures.increment())
+                  .map(this::track);
+          if (adaptiveLimit == null) {
+            return acquired;
+          }
+          Mono<Connection> gated =
+              adaptiveLimit
+                  .acquire()
+                  .doOnError(error -> acquireFailures.increment())
+                  .then(
+                      acquired
+                          .doOnNext(
+                              connection -> adaptiveLimit.recordAcquireLatency(since(startNanos)))
+                          .doOnError(error -> adaptiveLimit.release())
+                          .doOnCancel(adaptiveLimit::release));
+          if (maxAcquireTime == null || maxAcquireTime.isNegative() || maxAcquireTime.isZero()) {
+            return gated;
+          }
+          return gated
+              .timeout(maxAcquireTime)
+              .onErrorMap(
+                  TimeoutException.class,
+                  error -> {
+                    acquireFailures.increment();
+                    return new R2dbcTimeoutException(
+                        "Connection acquisition from pool '"
+                            + name
+                            + "' timed out after "
+                            + maxAcquireTime,
+                        error);
+                  });
+        });
+  }
+
+  @Override
+  public ConnectionFactoryMetadata getMetadata() {
+    return pool.getMetadata();
+  }
+
+  @Override
+  public ConnectionFactory unwrap() {
+    return pool;
+  }
+
+  @Override
+  public void close() {
+    if (adaptiveLimit != null) {
+      adaptiveLimit.dispose();
+    }
+    pool.dispose();
+  }
+
+  private Connection track(Connection connection) {
+    long acquiredNanos = System.nanoTime();
+    Disposable holdWarning =
+        holdWarningThreshold.isZero() || holdWarningThreshold.isNegative()
+            ? null
+            : Schedulers.parallel()
+                .schedule(
+                    () -> {
+                      longHolds.increment();
+                      log.warn(
+                          "⚠️ R2DBC connection from pool '{}' held for more than {}",
+                          name,
+                          holdWarningThreshold);
+                    },
+                    holdWarningThreshold.toMillis(),
+                    TimeUnit.MILLISECONDS);
+
+    return new InstrumentedConnection(
+        connection,
+        () -> {
+          holdTimer.record(since(acquiredNanos), TimeUnit.NANOSECONDS);
+          if (holdWarning != null) {
+            holdWarning.dispose();
+          }
+          if (adaptiveLimit != null) {
+            adaptiveLimit.release();
+          }
+        });
+  }
+
+  private static long since(long startNanos) {
+    return System.nanoTime() - startNanos;
+  }
+}
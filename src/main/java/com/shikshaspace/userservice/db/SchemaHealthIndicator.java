@@ -0,0 +1,92 @@
+package com.shikshaspace.userservice.db;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reports DOWN while the database schema is older than the newest migration shipped in this build,
+ * which keeps the pod out of the readiness group until the migration job has run. The check is a
+ * single query over the pooled R2DBC connection; once the schema is current the result is
+ * remembered, since the schema never moves backwards.
+ */
+@Slf4j
+@Component
+public class SchemaHealthIndicator implements ReactiveHealthIndicator {
+
+  private static final Pattern VERSIONED_MIGRATION = Pattern.compile("^V(.+?)__.*\\.sql$");
+
+  private final DatabaseClient databaseClient;
+  private final MigrationVersion expectedVersion;
+  private volatile boolean upToDate;
+
+  public SchemaHealthIndicator(
+      DatabaseClient databaseClient,
+      ResourcePatternResolver resourcePatternResolver,
+      @Value("${spring.flyway.locations:classpath:db/migration}") String[] locations)
+      throws IOException {
+    this.databaseClient = databaseClient;
+    this.expectedVersion = latestVersion(resourcePatternResolver, locations);
+    log.info("Expecting database schema version {}", expectedVersion);
+  }
+
+  @Override
+  public Mono<Health> health() {
+    if (upToDate) {
+      return Mono.just(Health.up().withDetail("expected", expectedVersion.toString()).build());
+    }
+    return currentVersion()
+        .map(
+            current -> {
+              upToDate = current.isAtLeast(expectedVersion.getVersion());
+              Health.Builder builder = upToDate ? Health.up() : Health.down();
+              return builder
+                  .withDetail("current", current.toString())
+                  .withDetail("expected", expectedVersion.toString())
+                  .build();
+            })
+        .onErrorResume(error -> Mono.just(Health.down(error).build()));
+  }
+
+  /** Highest successfully applied version, or {@code EMPTY} if nothing was applied yet. */
+  private Mono<MigrationVersion> currentVersion() {
+    return databaseClient
+        .sql("SELECT version FROM flyway_schema_history WHERE success AND version IS NOT NULL")
+        .map(row -> row.get("version", String.class))
+        .all()
+        .filter(Objects::nonNull)
+        .map(MigrationVersion::fromVersion)
+        .reduce((left, right) -> left.compareTo(right) >= 0 ? left : right)
+        .defaultIfEmpty(MigrationVersion.EMPTY);
+  }
+
+  private static MigrationVersion latestVersion(
+      ResourcePatternResolver resolver, String[] locations) throws IOException {
+    MigrationVersion latest = MigrationVersion.EMPTY;
+    for (String location : locations) {
+      Resource[] scripts = resolver.getResources(location + "/*.sql");
+      for (String filename :
+          Arrays.stream(scripts).map(Resource::getFilename).filter(Objects::nonNull).toList()) {
+        Matcher matcher = VERSIONED_MIGRATION.matcher(filename);
+        if (matcher.matches()) {
+          MigrationVersion version =
+              MigrationVersion.fromVersion(matcher.group(1).replace('_', '.'));
+          latest = version.compareTo(latest) > 0 ? version : latest;
+        }
+      }
+    }
+    return latest;
+  }
+}
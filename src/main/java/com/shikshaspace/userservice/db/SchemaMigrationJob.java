@@ -0,0 +1,53 @@
+package com.shikshaspace.userservice.db;
+
+import com.shikshaspace.userservice.config.FlywayConfig;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Entrypoint of the schema migration job, selected with {@code --spring.profiles.active=migrate}
+ * (or {@code SPRING_PROFILES_ACTIVE=migrate}) on the normal image. The job context holds nothing
+ * but {@link FlywayConfig}: no web server, R2DBC pool, security or Keycloak clients, so it needs
+ * only the {@code spring.flyway.*} settings. It applies pending migrations and exits with 0, or 1
+ * if the migration failed.
+ */
+@Slf4j
+public final class SchemaMigrationJob {
+
+  static final String PROFILE = "migrate";
+
+  private SchemaMigrationJob() {}
+
+  /** Whether the process was launched as the migration job. */
+  public static boolean isRequested(String[] args) {
+    StandardEnvironment environment = new StandardEnvironment();
+    environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+    return environment.matchesProfiles(PROFILE);
+  }
+
+  /** Apply pending migrations and return the process exit code. */
+  public static int run(String[] args) {
+    SpringApplication application = new SpringApplication(FlywayConfig.class);
+    application.setWebApplicationType(WebApplicationType.NONE);
+    try (ConfigurableApplicationContext context = application.run(args)) {
+      long startNanos = System.nanoTime();
+      MigrateResult result = context.getBean(Flyway.class).migrate();
+      log.info(
+          "✅ Applied {} migration(s), schema now at {} ({} ms)",
+          result.migrationsExecuted,
+          result.targetSchemaVersion,
+          Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+      return 0;
+    } catch (RuntimeException e) {
+      log.error("❌ Schema migration failed: {}", e.getMessage(), e);
+      return 1;
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.shikshaspace.userservice.db;
+
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks or applies the database schema on a serving start, depending on {@code schema.mode}:
+ *
+ * <ul>
+ *   <li>{@code check} (default) - serving pods only compare the applied schema version with the
+ *       newest bundled migration; a stale schema keeps readiness DOWN via {@link
+ *       SchemaHealthIndicator} instead of migrating under live traffic.
+ *   <li>{@code migrate-on-startup} - apply migrations and keep serving; for local development and
+ *       the in-memory load-test harness only.
+ * </ul>
+ *
+ * <p>Migrations for deployed environments are applied by {@link SchemaMigrationJob} instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SchemaMigrationRunner implements ApplicationRunner {
+
+  private final Flyway flyway;
+  private final SchemaHealthIndicator schemaHealthIndicator;
+
+  @Value("${schema.mode:check}")
+  private String mode;
+
+  @Value("${schema.check-timeout:5s}")
+  private Duration checkTimeout;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    switch (mode) {
+      case "migrate-on-startup" -> migrate();
+      case "check" -> check();
+      default -> throw new IllegalStateException("Unknown schema.mode: " + mode);
+    }
+  }
+
+  private void migrate() {
+    long startNanos = System.nanoTime();
+    MigrateResult result = flyway.migrate();
+    log.info(
+        "✅ Applied {} migration(s), schema now at {} ({} ms)",
+        result.migrationsExecuted,
+        result.targetSchemaVersion,
+        elapsedMillis(startNanos));
+  }
+
+  private void check() {
+    long startNanos = System.nanoTime();
+    Health health = schemaHealthIndicator.health().block(checkTimeout);
+    long elapsed = elapsedMillis(startNanos);
+
+    if (health != null && Status.UP.equals(health.getStatus())) {
+      log.info("✅ Database schema is current {} ({} ms)", health.getDetails(), elapsed);
+    } else {
+      log.warn(
+          "⚠️ Database schema is behind or unreadable {}; readiness stays DOWN until the"
+              + " migration job has run ({} ms)",
+          health != null ? health.getDetails() : "{}",
+          elapsed);
+    }
+  }
+
+  private static long elapsedMillis(long startNanos) {
+    return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+  }
+}
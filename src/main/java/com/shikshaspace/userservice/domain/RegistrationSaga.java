@@ -0,0 +1,55 @@
+package com.shikshaspace.userservice.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+/** Outbox record tracking one registration across Keycloak and the users table. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("registration_saga")
+public class RegistrationSaga {
+
+  public enum Status {
+    /** Saga recorded; Keycloak user creation not yet confirmed. */
+    PENDING,
+    /** Keycloak user exists; users row not yet written. */
+    KEYCLOAK_CREATED,
+    /** Keycloak user and users row both exist. */
+    COMPLETED,
+    /** Keycloak user must be deleted. */
+    COMPENSATING,
+    /** Keycloak user was deleted after a failure. */
+    COMPENSATED,
+    /** Failed before anything needed undoing. */
+    FAILED
+  }
+
+  @Id private UUID id;
+
+  private String username;
+  private String email;
+  private String firstName;
+  private String lastName;
+  private Boolean emailVerified;
+
+  private UUID keycloakId;
+  private Status status;
+  private Integer attempts;
+  private String lastError;
+  private LocalDateTime nextAttemptAt;
+
+  private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+
+  /** Checked on every update, so concurrent writers cannot overwrite each other's status. */
+  @Version private Long version;
+}
@@ -0,0 +1,23 @@
+package com.shikshaspace.userservice.dto.request;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for resolving many users in one call. Any combination of the key lists may be given;
+ * their combined size is capped by {@code user.batch.max-keys}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUserLookupRequest {
+
+  private List<UUID> ids;
+  private List<String> usernames;
+  private List<UUID> keycloakIds;
+}
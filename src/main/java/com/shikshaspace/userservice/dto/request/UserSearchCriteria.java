@@ -0,0 +1,25 @@
+package com.shikshaspace.userservice.dto.request;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Server-side filters for the admin user listing. Null fields are not filtered on. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchCriteria {
+
+  private Boolean active;
+
+  private Boolean emailVerified;
+
+  /** Inclusive lower bound on created_at. */
+  private LocalDateTime createdFrom;
+
+  /** Exclusive upper bound on created_at. */
+  private LocalDateTime createdTo;
+}
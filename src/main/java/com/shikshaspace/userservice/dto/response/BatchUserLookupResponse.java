@@ -0,0 +1,34 @@
+package com.shikshaspace.userservice.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for batch user lookups. Each list mirrors the matching request list, in the same
+ * order, with an explicit entry for every key that was not found.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUserLookupResponse {
+
+  private List<Result> ids;
+  private List<Result> usernames;
+  private List<Result> keycloakIds;
+
+  /** Lookup outcome for a single requested key. */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Result {
+
+    private String key;
+    private boolean found;
+    private UserResponse user;
+  }
+}
@@ -0,0 +1,28 @@
+package com.shikshaspace.userservice.dto.response;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Outcome of a single row of a bulk user import. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultResponse {
+
+  public enum Status {
+    CREATED,
+    FAILED
+  }
+
+  /** 1-based position of the row in the uploaded stream. */
+  private long line;
+
+  private String username;
+  private Status status;
+  private UUID userId;
+  private String error;
+}
@@ -0,0 +1,19 @@
+package com.shikshaspace.userservice.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One page of the admin user listing. {@code nextCursor} is null on the last page. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageResponse {
+
+  private List<UserResponse> items;
+  private String nextCursor;
+  private boolean hasMore;
+}
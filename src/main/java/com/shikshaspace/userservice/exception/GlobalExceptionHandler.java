@@ -1,9 +1,11 @@
 package com.shikshaspace.userservice.exception;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -80,6 +82,34 @@ public class GlobalExceptionHandler {
     return createErrorResponse(HttpStatus.BAD_REQUEST, "BAD_REQUEST", "Invalid request format");
   }
 
+  /** Handle semantically invalid request parameters. */
+  @ExceptionHandler(InvalidRequestException.class)
+  public Mono<ResponseEntity<Map<String, Object>>> handleInvalidRequest(
+      InvalidRequestException ex) {
+    log.warn("Invalid request: {}", ex.getMessage());
+    return createErrorResponse(HttpStatus.BAD_REQUEST, "BAD_REQUEST", ex.getMessage());
+  }
+
+  /** Handle throttled auth requests, telling the client when to retry. */
+  @ExceptionHandler(TooManyRequestsException.class)
+  public Mono<ResponseEntity<Map<String, Object>>> handleTooManyRequests(
+      TooManyRequestsException ex) {
+    log.warn("Request throttled: {}", ex.getMessage());
+    return withRetryAfter(
+        createErrorResponse(HttpStatus.TOO_MANY_REQUESTS, "TOO_MANY_REQUESTS", ex.getMessage()),
+        ex.getRetryAfter());
+  }
+
+  /** Handle work shed because Keycloak is overloaded or unavailable. */
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public Mono<ResponseEntity<Map<String, Object>>> handleServiceUnavailable(
+      ServiceUnavailableException ex) {
+    log.warn("Service unavailable: {}", ex.getMessage());
+    return withRetryAfter(
+        createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_UNAVAILABLE", ex.getMessage()),
+        ex.getRetryAfter());
+  }
+
   /** Handle custom Keycloak exceptions. */
   @ExceptionHandler(KeycloakException.class)
   public Mono<ResponseEntity<Map<String, Object>>> handleKeycloakException(KeycloakException ex) {
@@ -122,6 +152,17 @@ public class GlobalExceptionHandler {
         HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_SERVER_ERROR", "An unexpected error occurred");
   }
 
+  /** Add a Retry-After header, in whole seconds rounded up. */
+  private Mono<ResponseEntity<Map<String, Object>>> withRetryAfter(
+      Mono<ResponseEntity<Map<String, Object>>> response, Duration retryAfter) {
+    long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    return response.map(
+        entity ->
+            ResponseEntity.status(entity.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(entity.getBody()));
+  }
+
   /** Create consistent error response structure. */
   private Mono<ResponseEntity<Map<String, Object>>> createErrorResponse(
       HttpStatus status, String error, String message) {
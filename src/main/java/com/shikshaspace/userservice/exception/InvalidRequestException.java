@@ -0,0 +1,12 @@
+package com.shikshaspace.userservice.exception;
+
+public class InvalidRequestException extends RuntimeException {
+
+  public InvalidRequestException(String message) {
+    super(message);
+  }
+
+  public InvalidRequestException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,16 @@
+package com.shikshaspace.userservice.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/** Raised when work is shed because a downstream dependency is overloaded or unavailable. */
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public ServiceUnavailableException(String message, Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+}
@@ -0,0 +1,15 @@
+package com.shikshaspace.userservice.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public TooManyRequestsException(String message, Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+}
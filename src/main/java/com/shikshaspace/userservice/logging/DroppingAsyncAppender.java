@@ -0,0 +1,30 @@
+package com.shikshaspace.userservice.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Async appender that never blocks the caller: when the queue is full the event is dropped and
+ * counted. Configured in {@code logback-spring.xml} with {@code neverBlock=true}; the count is
+ * exported as {@code logging.events.dropped}.
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+
+  private static final LongAdder DROPPED = new LongAdder();
+
+  /** Events dropped so far by all instances. */
+  public static long droppedCount() {
+    return DROPPED.sum();
+  }
+
+  @Override
+  protected void append(ILoggingEvent event) {
+    // Full queue with neverBlock: the base class discards the event silently
+    if (isStarted() && getRemainingCapacity() == 0) {
+      DROPPED.increment();
+      return;
+    }
+    super.append(event);
+  }
+}
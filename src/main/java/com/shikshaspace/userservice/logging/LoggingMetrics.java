@@ -0,0 +1,19 @@
+package com.shikshaspace.userservice.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/** Exposes log events dropped by {@link DroppingAsyncAppender}. */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder(
+            "logging.events.dropped", this, metrics -> DroppingAsyncAppender.droppedCount())
+        .description("Log events dropped because the async log queue was full")
+        .register(registry);
+  }
+}
@@ -0,0 +1,30 @@
+package com.shikshaspace.userservice.logging;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sampling for the per-request summary log. Rates are probabilities between 0 and 1; server errors
+ * are logged in full by default.
+ */
+@Data
+@ConfigurationProperties(prefix = "request-log")
+public class RequestLogProperties {
+
+  /** Emit request summary events at all. */
+  private boolean enabled = true;
+
+  /** Sample rate for 2xx/3xx responses on routes without an override. */
+  private double successRate = 0.01;
+
+  /** Sample rate for 4xx responses. */
+  private double clientErrorRate = 0.1;
+
+  /** Sample rate for 5xx responses and requests that failed without a response. */
+  private double serverErrorRate = 1.0;
+
+  /** Per-route sample rate for successful requests, keyed by route pattern. */
+  private Map<String, Double> routes = new LinkedHashMap<>();
+}
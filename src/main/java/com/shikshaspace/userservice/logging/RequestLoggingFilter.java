@@ -0,0 +1,90 @@
+package com.shikshaspace.userservice.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Emits one structured summary event per request on the {@code request-log} logger: method, route
+ * pattern, status, outcome and duration as key-value pairs. Events are sampled per route and
+ * outcome, and the sampling decision is made before any string is built.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RequestLogProperties.class)
+public class RequestLoggingFilter implements WebFilter {
+
+  private static final Logger REQUEST_LOG = LoggerFactory.getLogger("request-log");
+  private static final String UNMATCHED = "unmatched";
+
+  private final RequestLogProperties properties;
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    if (!properties.isEnabled() || !REQUEST_LOG.isInfoEnabled()) {
+      return chain.filter(exchange);
+    }
+    long startNanos = System.nanoTime();
+    return chain
+        .filter(exchange)
+        .doFinally(signal -> summarize(exchange, signal, System.nanoTime() - startNanos));
+  }
+
+  private void summarize(ServerWebExchange exchange, SignalType signal, long durationNanos) {
+    HttpStatusCode status = exchange.getResponse().getStatusCode();
+    String outcome = outcome(status, signal);
+    String route = route(exchange);
+    if (ThreadLocalRandom.current().nextDouble() >= sampleRate(route, outcome)) {
+      return;
+    }
+    REQUEST_LOG
+        .atInfo()
+        .addKeyValue("method", exchange.getRequest().getMethod().name())
+        .addKeyValue("route", route)
+        .addKeyValue("status", status != null ? status.value() : 0)
+        .addKeyValue("outcome", outcome)
+        .addKeyValue("duration_ms", durationNanos / 1_000_000)
+        .log("request");
+  }
+
+  private double sampleRate(String route, String outcome) {
+    return switch (outcome) {
+      case "SERVER_ERROR", "CANCELLED" -> properties.getServerErrorRate();
+      case "CLIENT_ERROR" -> properties.getClientErrorRate();
+      default -> properties.getRoutes().getOrDefault(route, properties.getSuccessRate());
+    };
+  }
+
+  /** Route pattern rather than the raw path, so ids and emails never end up in the log. */
+  private static String route(ServerWebExchange exchange) {
+    Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return pattern instanceof PathPattern pathPattern ? pathPattern.getPatternString() : UNMATCHED;
+  }
+
+  private static String outcome(HttpStatusCode status, SignalType signal) {
+    if (signal == SignalType.CANCEL) {
+      return "CANCELLED";
+    }
+    if (status == null) {
+      return signal == SignalType.ON_ERROR ? "SERVER_ERROR" : "SUCCESS";
+    }
+    if (status.is5xxServerError()) {
+      return "SERVER_ERROR";
+    }
+    return status.is4xxClientError() ? "CLIENT_ERROR" : "SUCCESS";
+  }
+}
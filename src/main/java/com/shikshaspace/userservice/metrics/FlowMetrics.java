@@ -0,0 +1,92 @@
+package com.shikshaspace.userservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-stage timers for the auth and Keycloak flows, exported as {@code user.flow.stage} with
+ * percentile histograms. Tags are {@code flow}, {@code stage}, {@code outcome} and {@code error};
+ * the error tag is collapsed to a small fixed set so its cardinality stays bounded.
+ */
+@Component
+@RequiredArgsConstructor
+public class FlowMetrics {
+
+  /** Stage name for the end-to-end duration of a flow. */
+  public static final String TOTAL = "total";
+
+  private static final String METRIC = "user.flow.stage";
+  private static final String NONE = "none";
+
+  private final MeterRegistry meterRegistry;
+
+  /** Time one stage of a flow; use with {@code Mono.transform}. */
+  public <T> Function<Mono<T>, Mono<T>> stage(String flow, String stage) {
+    return mono ->
+        Mono.defer(
+            () -> {
+              Timer.Sample sample = Timer.start(meterRegistry);
+              AtomicBoolean recorded = new AtomicBoolean();
+              return mono.doOnSuccess(
+                      value -> record(sample, recorded, flow, stage, "success", NONE))
+                  .doOnError(
+                      error -> record(sample, recorded, flow, stage, "error", errorType(error)))
+                  .doOnCancel(() -> record(sample, recorded, flow, stage, "cancelled", NONE));
+            });
+  }
+
+  private void record(
+      Timer.Sample sample,
+      AtomicBoolean recorded,
+      String flow,
+      String stage,
+      String outcome,
+      String error) {
+    if (!recorded.compareAndSet(false, true)) {
+      return;
+    }
+    sample.stop(
+        Timer.builder(METRIC)
+            .description("Duration of a stage in the auth and Keycloak flows")
+            .tag("flow", flow)
+            .tag("stage", stage)
+            .tag("outcome", outcome)
+            .tag("error", error)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+  }
+
+  /** Map an error to a bounded tag value. */
+  static String errorType(Throwable error) {
+    if (error instanceof WebClientResponseException response) {
+      return "http_" + response.getStatusCode().value() / 100 + "xx";
+    }
+    if (error instanceof WebClientRequestException) {
+      return "connection";
+    }
+    if (error instanceof TimeoutException) {
+      return "timeout";
+    }
+    if (error instanceof JwtException) {
+      return "jwt";
+    }
+    if (error instanceof DataAccessException) {
+      return "database";
+    }
+    if (error.getClass().getName().startsWith("com.shikshaspace.")) {
+      // Our own exception types form a small, fixed set
+      return error.getClass().getSimpleName();
+    }
+    return "other";
+  }
+}
@@ -0,0 +1,46 @@
+package com.shikshaspace.userservice.repository;
+
+import com.shikshaspace.userservice.domain.RegistrationSaga;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface RegistrationSagaRepository extends ReactiveCrudRepository<RegistrationSaga, UUID> {
+
+  /**
+   * Lease up to {@code limit} open sagas that are due, pushing their next attempt to {@code
+   * leaseUntil}. SKIP LOCKED lets several replicas run the relay without claiming the same rows.
+   */
+  @Query(
+      """
+      UPDATE registration_saga SET next_attempt_at = :leaseUntil
+      WHERE id IN (
+          SELECT id FROM registration_saga
+          WHERE status IN ('PENDING', 'KEYCLOAK_CREATED', 'COMPENSATING')
+            AND next_attempt_at <= :now
+          ORDER BY next_attempt_at
+          LIMIT :limit
+          FOR UPDATE SKIP LOCKED)
+      RETURNING *
+      """)
+  Flux<RegistrationSaga> claimDue(LocalDateTime now, LocalDateTime leaseUntil, int limit);
+
+  /** Delete up to {@code limit} terminal sagas last updated before {@code cutoff}. */
+  @Modifying
+  @Query(
+      """
+      DELETE FROM registration_saga
+      WHERE id IN (
+          SELECT id FROM registration_saga
+          WHERE status IN ('COMPLETED', 'COMPENSATED', 'FAILED')
+            AND updated_at < :cutoff
+          LIMIT :limit)
+      """)
+  Mono<Integer> deleteTerminalBefore(LocalDateTime cutoff, int limit);
+}
@@ -0,0 +1,47 @@
+package com.shikshaspace.userservice.repository;
+
+import com.shikshaspace.userservice.domain.User;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the {@code (created_at, id)} ordering of users. Exposed to clients only as an
+ * opaque URL-safe token.
+ */
+public record UserCursor(LocalDateTime createdAt, UUID id) {
+
+  private static final char SEPARATOR = '|';
+
+  public static UserCursor of(User user) {
+    return new UserCursor(user.getCreatedAt(), user.getId());
+  }
+
+  public String encode() {
+    String raw = createdAt.toString() + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decode a token produced by {@link #encode()}.
+   *
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  public static UserCursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new IllegalArgumentException("Malformed cursor");
+      }
+      return new UserCursor(
+          LocalDateTime.parse(raw.substring(0, separator)),
+          UUID.fromString(raw.substring(separator + 1)));
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Malformed cursor", e);
+    }
+  }
+}
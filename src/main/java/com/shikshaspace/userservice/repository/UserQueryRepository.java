@@ -0,0 +1,15 @@
+package com.shikshaspace.userservice.repository;
+
+import com.shikshaspace.userservice.domain.User;
+import com.shikshaspace.userservice.dto.request.UserSearchCriteria;
+import reactor.core.publisher.Flux;
+
+/** Dynamic queries on users that derived query methods cannot express. */
+public interface UserQueryRepository {
+
+  /**
+   * Users matching {@code criteria}, newest first by {@code (created_at, id)}, strictly after
+   * {@code after} (or from the start when null).
+   */
+  Flux<User> findPage(UserSearchCriteria criteria, UserCursor after, int limit);
+}
@@ -0,0 +1,70 @@
+package com.shikshaspace.userservice.repository;
+
+import com.shikshaspace.userservice.domain.User;
+import com.shikshaspace.userservice.dto.request.UserSearchCriteria;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+
+/**
+ * Keyset pagination over {@code (created_at, id)}. Every page is a bounded index range scan (see
+ * {@code V3__user_listing_indexes.sql}), so its cost does not depend on how deep the cursor is.
+ */
+@RequiredArgsConstructor
+public class UserQueryRepositoryImpl implements UserQueryRepository {
+
+  private static final Sort KEYSET_ORDER =
+      Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+  private final R2dbcEntityTemplate template;
+
+  @Override
+  public Flux<User> findPage(UserSearchCriteria criteria, UserCursor after, int limit) {
+    Criteria where = filter(criteria);
+
+    if (after != null) {
+      // (created_at, id) < (:c, :id). The redundant created_at <= :c bound is what Postgres turns
+      // into the index range; the OR alone is only a filter and would rescan every earlier page.
+      where =
+          where
+              .and("createdAt")
+              .lessThanOrEquals(after.createdAt())
+              .and(
+                  Criteria.where("createdAt")
+                      .lessThan(after.createdAt())
+                      .or(
+                          Criteria.where("createdAt")
+                              .is(after.createdAt())
+                              .and("id")
+                              .lessThan(after.id())));
+    }
+
+    return template
+        .select(User.class)
+        .matching(Query.query(where).sort(KEYSET_ORDER).limit(limit))
+        .all();
+  }
+
+  private Criteria filter(UserSearchCriteria criteria) {
+    Criteria where = Criteria.empty();
+    if (criteria == null) {
+      return where;
+    }
+    if (criteria.getActive() != null) {
+      where = where.and("isActive").is(criteria.getActive());
+    }
+    if (criteria.getEmailVerified() != null) {
+      where = where.and("emailVerified").is(criteria.getEmailVerified());
+    }
+    if (criteria.getCreatedFrom() != null) {
+      where = where.and("createdAt").greaterThanOrEquals(criteria.getCreatedFrom());
+    }
+    if (criteria.getCreatedTo() != null) {
+      where = where.and("createdAt").lessThan(criteria.getCreatedTo());
+    }
+    return where;
+  }
+}
@@ -2,12 +2,14 @@ package com.shikshaspace.userservice.repository;
 
 import com.shikshaspace.userservice.domain.User;
 import java.util.UUID;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Repository
-public interface UserRepository extends ReactiveCrudRepository<User, UUID> {
+public interface UserRepository extends ReactiveCrudRepository<User, UUID>, UserQueryRepository {
 
   Mono<User> findByEmail(String email);
 
@@ -15,6 +17,15 @@ public interface UserRepository extends ReactiveCrudRepository<User, UUID> {
 
   Mono<User> findByKeycloakId(UUID keycloakId);
 
+  @Query("SELECT * FROM users WHERE id = ANY(:ids)")
+  Flux<User> findAllByIdIn(UUID[] ids);
+
+  @Query("SELECT * FROM users WHERE username = ANY(:usernames)")
+  Flux<User> findAllByUsernameIn(String[] usernames);
+
+  @Query("SELECT * FROM users WHERE keycloak_id = ANY(:keycloakIds)")
+  Flux<User> findAllByKeycloakIdIn(UUID[] keycloakIds);
+
   Mono<Boolean> existsByEmail(String email);
 
   Mono<Boolean> existsByUsername(String username);
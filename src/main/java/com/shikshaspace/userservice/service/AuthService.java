@@ -1,26 +1,21 @@
 package com.shikshaspace.userservice.service;
 
-import com.shikshaspace.userservice.domain.User;
+import com.shikshaspace.userservice.cache.UserCache;
+import com.shikshaspace.userservice.client.KeycloakTokenClient;
 import com.shikshaspace.userservice.dto.request.LoginRequest;
 import com.shikshaspace.userservice.dto.request.RefreshTokenRequest;
 import com.shikshaspace.userservice.dto.request.RegisterRequest;
 import com.shikshaspace.userservice.dto.response.AuthResponse;
-import com.shikshaspace.userservice.dto.response.TokenResponse;
 import com.shikshaspace.userservice.exception.KeycloakException;
+import com.shikshaspace.userservice.exception.ServiceUnavailableException;
+import com.shikshaspace.userservice.metrics.FlowMetrics;
 import com.shikshaspace.userservice.repository.UserRepository;
-import java.time.Duration;
-import java.time.LocalDateTime;
-import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 /**
@@ -32,78 +27,68 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class AuthService {
 
-  private final UserRepository userRepository;
-  private final KeycloakService keycloakService;
-  private final WebClient.Builder webClientBuilder;
-
-  @Value("${keycloak.server-url}")
-  private String keycloakServerUrl;
-
-  @Value("${keycloak.realm}")
-  private String realm;
-
-  @Value("${keycloak.client-id}")
-  private String clientId;
+  private static final String REGISTER = "register";
+  private static final String LOGIN = "login";
+  private static final String REFRESH = "refresh";
+  private static final String PREFERRED_USERNAME = "preferred_username";
 
-  @Value("${keycloak.client-secret}")
-  private String clientSecret;
-
-  /** Register new user - creates in both Keycloak and database. */
-  @Transactional
+  private final UserRepository userRepository;
+  private final UserCache userCache;
+  private final RegistrationSagaService registrationSagaService;
+  private final KeycloakTokenClient keycloakTokenClient;
+  private final ReactiveJwtDecoder jwtDecoder;
+  private final FlowMetrics flowMetrics;
+
+  @Value("${keycloak.refresh.userinfo-fallback-enabled:true}")
+  private boolean userInfoFallbackEnabled;
+
+  /**
+   * Register new user - creates in both Keycloak and database through the registration saga, so a
+   * failed database write never leaves an orphan Keycloak user.
+   */
   public Mono<AuthResponse> register(RegisterRequest request) {
-    log.info("🔵 Registering new user: {}", request.getUsername());
+    log.debug("🔵 Registering new user: {}", request.getUsername());
 
-    // Step 1: Create user in Keycloak
-    return keycloakService
-        .createUser(
+    return registrationSagaService
+        .register(
             request.getUsername(),
             request.getEmail(),
             request.getPassword(),
             request.getFirstName(),
-            request.getLastName())
-        .doOnSuccess(keycloakId -> log.info("✅ User created in Keycloak with ID: {}", keycloakId))
-        .flatMap(
-            keycloakId -> {
-              // Step 2: Create user in database
-              User newUser =
-                  User.builder()
-                      .keycloakId(keycloakId)
-                      .username(request.getUsername())
-                      .email(request.getEmail())
-                      .firstName(request.getFirstName())
-                      .lastName(request.getLastName())
-                      .emailVerified(false)
-                      .isActive(true)
-                      .createdAt(LocalDateTime.now())
-                      .updatedAt(LocalDateTime.now())
-                      .build();
-
-              return userRepository
-                  .save(newUser)
-                  .doOnSuccess(
-                      user -> log.info("✅ User saved to database: {}", user.getUsername()));
-            })
+            request.getLastName(),
+            false)
+        .transform(flowMetrics.stage(REGISTER, "registration"))
+        .doOnSuccess(user -> log.debug("✅ User registered: {}", user.getUsername()))
         .flatMap(
             user -> {
-              // Step 3: Auto-login after registration
-              log.info("🔵 Auto-login after registration for: {}", user.getUsername());
-              return login(new LoginRequest(request.getUsername(), request.getPassword()));
+              // Auto-login after registration
+              log.debug("🔵 Auto-login after registration for: {}", user.getUsername());
+              return login(new LoginRequest(request.getUsername(), request.getPassword()))
+                  .transform(flowMetrics.stage(REGISTER, "auto_login"));
             })
+        .transform(flowMetrics.stage(REGISTER, FlowMetrics.TOTAL))
         .doOnError(error -> log.error("❌ Registration failed: {}", error.getMessage()))
         .onErrorResume(
+            error -> !(error instanceof ServiceUnavailableException),
             error ->
-                Mono.error(new KeycloakException("Registration failed: " + error.getMessage())));
+                Mono.error(
+                    new KeycloakException("Registration failed: " + error.getMessage(), error)));
   }
 
   /** Login user - authenticate with Keycloak and return tokens. */
   public Mono<AuthResponse> login(LoginRequest request) {
-    log.info("🔵 Login request for user: {}", request.getUsername());
+    log.debug("🔵 Login request for user: {}", request.getUsername());
 
-    return authenticateWithKeycloak(request.getUsername(), request.getPassword())
+    return keycloakTokenClient
+        .passwordGrant(request.getUsername(), request.getPassword())
+        .transform(flowMetrics.stage(LOGIN, "token"))
         .flatMap(
             tokenResponse ->
-                userRepository
-                    .findByUsername(request.getUsername())
+                userCache
+                    .findByUsername(
+                        request.getUsername(),
+                        () -> userRepository.findByUsername(request.getUsername()))
+                    .transform(flowMetrics.stage(LOGIN, "user_lookup"))
                     .map(
                         user ->
                             AuthResponse.builder()
@@ -114,95 +99,82 @@ public class AuthService {
                                 .username(user.getUsername())
                                 .email(user.getEmail())
                                 .build()))
-        .doOnSuccess(response -> log.info("✅ Login successful for: {}", response.getUsername()))
+        .transform(flowMetrics.stage(LOGIN, FlowMetrics.TOTAL))
+        .doOnSuccess(response -> log.debug("✅ Login successful for: {}", response.getUsername()))
         .doOnError(error -> log.error("❌ Login failed: {}", error.getMessage()));
   }
 
-  /** Refresh access token using refresh token. */
+  /**
+   * Refresh access token using refresh token. The refreshed access token is verified locally
+   * against the realm JWKS, so a refresh costs a single Keycloak round trip.
+   */
   public Mono<AuthResponse> refreshToken(RefreshTokenRequest request) {
     log.debug("Refreshing access token");
 
-    return refreshWithKeycloak(request.getRefreshToken())
+    return keycloakTokenClient
+        .refreshGrant(request.getRefreshToken())
+        .transform(flowMetrics.stage(REFRESH, "token"))
         .flatMap(
-            tokenResponse -> {
-              // Extract username from token to get user details
-              return extractUserInfoFromToken(tokenResponse.getAccessToken())
-                  .flatMap(
-                      userInfo -> {
-                        String username = (String) userInfo.get("preferred_username");
-                        return userRepository
-                            .findByUsername(username)
-                            .map(
-                                user ->
-                                    AuthResponse.builder()
-                                        .token(tokenResponse.getAccessToken())
-                                        .refreshToken(tokenResponse.getRefreshToken())
-                                        .expiresIn(tokenResponse.getExpiresIn())
-                                        .userId(user.getId())
-                                        .username(user.getUsername())
-                                        .email(user.getEmail())
-                                        .build());
-                      });
-            })
-        .doOnSuccess(response -> log.info("✅ Token refreshed successfully"))
+            tokenResponse ->
+                resolveUsername(tokenResponse.getAccessToken())
+                    .transform(flowMetrics.stage(REFRESH, "resolve_username"))
+                    .flatMap(
+                        username ->
+                            userCache
+                                .findByUsername(
+                                    username, () -> userRepository.findByUsername(username))
+                                .transform(flowMetrics.stage(REFRESH, "user_lookup")))
+                    .map(
+                        user ->
+                            AuthResponse.builder()
+                                .token(tokenResponse.getAccessToken())
+                                .refreshToken(tokenResponse.getRefreshToken())
+                                .expiresIn(tokenResponse.getExpiresIn())
+                                .userId(user.getId())
+                                .username(user.getUsername())
+                                .email(user.getEmail())
+                                .build()))
+        .transform(flowMetrics.stage(REFRESH, FlowMetrics.TOTAL))
+        .doOnSuccess(response -> log.debug("✅ Token refreshed successfully"))
         .doOnError(error -> log.error("❌ Token refresh failed: {}", error.getMessage()));
   }
 
-  /** Authenticate with Keycloak and get tokens. */
-  private Mono<TokenResponse> authenticateWithKeycloak(String username, String password) {
-    String tokenUrl = keycloakServerUrl + "/realms/" + realm + "/protocol/openid-connect/token";
-
-    MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
-    formData.add("grant_type", "password");
-    formData.add("client_id", clientId);
-    formData.add("client_secret", clientSecret);
-    formData.add("username", username);
-    formData.add("password", password);
-
-    return webClientBuilder
-        .build()
-        .post()
-        .uri(tokenUrl)
-        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-        .bodyValue(formData)
-        .retrieve()
-        .bodyToMono(TokenResponse.class)
-        .timeout(Duration.ofSeconds(10));
-  }
-
-  /** Refresh token with Keycloak. */
-  private Mono<TokenResponse> refreshWithKeycloak(String refreshToken) {
-    String tokenUrl = keycloakServerUrl + "/realms/" + realm + "/protocol/openid-connect/token";
-
-    MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
-    formData.add("grant_type", "refresh_token");
-    formData.add("client_id", clientId);
-    formData.add("client_secret", clientSecret);
-    formData.add("refresh_token", refreshToken);
-
-    return webClientBuilder
-        .build()
-        .post()
-        .uri(tokenUrl)
-        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-        .bodyValue(formData)
-        .retrieve()
-        .bodyToMono(TokenResponse.class)
-        .timeout(Duration.ofSeconds(10));
+  /**
+   * Read {@code preferred_username} from a signature-checked access token. Falls back to the
+   * Keycloak userinfo endpoint when local verification fails or the claim is absent, and the
+   * fallback is enabled.
+   */
+  private Mono<String> resolveUsername(String accessToken) {
+    return jwtDecoder
+        .decode(accessToken)
+        .mapNotNull(jwt -> jwt.getClaimAsString(PREFERRED_USERNAME))
+        .switchIfEmpty(
+            Mono.defer(
+                () -> {
+                  if (!userInfoFallbackEnabled) {
+                    return Mono.error(
+                        new KeycloakException("Access token has no preferred_username claim"));
+                  }
+                  log.warn("⚠️ Access token has no preferred_username claim, using userinfo");
+                  return userInfoUsername(accessToken);
+                }))
+        .onErrorResume(
+            JwtException.class,
+            error -> {
+              if (!userInfoFallbackEnabled) {
+                return Mono.error(error);
+              }
+              log.warn(
+                  "⚠️ Local token verification failed, using userinfo: {}", error.getMessage());
+              return userInfoUsername(accessToken);
+            });
   }
 
-  /** Extract user info from JWT access token. */
-  private Mono<Map<String, Object>> extractUserInfoFromToken(String accessToken) {
-    String userInfoUrl =
-        keycloakServerUrl + "/realms/" + realm + "/protocol/openid-connect/userinfo";
-
-    return webClientBuilder
-        .build()
-        .get()
-        .uri(userInfoUrl)
-        .header("Authorization", "Bearer " + accessToken)
-        .retrieve()
-        .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-        .timeout(Duration.ofSeconds(5));
+  private Mono<String> userInfoUsername(String accessToken) {
+    return keycloakTokenClient
+        .userInfo(accessToken)
+        .mapNotNull(userInfo -> (String) userInfo.get(PREFERRED_USERNAME))
+        .switchIfEmpty(
+            Mono.error(new KeycloakException("Userinfo response has no preferred_username")));
   }
 }
@@ -1,10 +1,17 @@
 package com.shikshaspace.userservice.service;
 
+import com.shikshaspace.userservice.client.KeycloakAdminClient;
 import com.shikshaspace.userservice.exception.KeycloakException;
+import com.shikshaspace.userservice.exception.ServiceUnavailableException;
+import com.shikshaspace.userservice.metrics.FlowMetrics;
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status.Family;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.keycloak.admin.client.Keycloak;
@@ -15,95 +22,167 @@ import org.keycloak.representations.idm.UserRepresentation;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Service for Keycloak admin operations. Handles user creation, deletion, and synchronization with
  * Keycloak.
+ *
+ * <p>Calls go through the non-blocking {@link KeycloakAdminClient} by default. With {@code
+ * keycloak.admin.reactive-enabled=false} they fall back to the blocking admin client, confined to
+ * the dedicated {@code keycloakAdminScheduler} bulkhead. A call rejected by a full bulkhead never
+ * reached Keycloak and fails with {@link ServiceUnavailableException}.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class KeycloakService {
 
+  private static final String KEYCLOAK_ADMIN = "keycloak_admin";
+  private static final Duration BULKHEAD_RETRY_AFTER = Duration.ofSeconds(1);
+
   private final Keycloak keycloak;
+  private final KeycloakAdminClient keycloakAdminClient;
+  private final Scheduler keycloakAdminScheduler;
+  private final FlowMetrics flowMetrics;
 
   @Value("${keycloak.realm}")
   private String realm;
 
+  @Value("${keycloak.admin.reactive-enabled:true}")
+  private boolean reactiveEnabled;
+
   /** Create user in Keycloak with credentials. */
   public Mono<UUID> createUser(
       String username, String email, String password, String firstName, String lastName) {
-    return Mono.fromCallable(
-            () -> {
-              log.info("Creating Keycloak user: {}", username);
-
-              RealmResource realmResource = keycloak.realm(realm);
-              UsersResource usersResource = realmResource.users();
-
-              UserRepresentation user = new UserRepresentation();
-              user.setUsername(username);
-              user.setEmail(email);
-              user.setFirstName(firstName);
-              user.setLastName(lastName);
-              user.setEnabled(true);
-              user.setEmailVerified(false);
-
-              CredentialRepresentation credential = new CredentialRepresentation();
-              credential.setType(CredentialRepresentation.PASSWORD);
-              credential.setValue(password);
-              credential.setTemporary(false);
-              user.setCredentials(Collections.singletonList(credential));
-
-              Response response = usersResource.create(user);
-
-              if (response.getStatus() != 201) {
-                throw new KeycloakException("Failed to create user: " + response.getStatusInfo());
-              }
-
-              String location = response.getLocation().getPath();
-              String keycloakId = location.substring(location.lastIndexOf('/') + 1);
-
-              log.info("Keycloak user created with ID: {}", keycloakId);
-              return UUID.fromString(keycloakId);
-            })
-        .subscribeOn(Schedulers.boundedElastic())
+    UserRepresentation user = newUser(username, email, password, firstName, lastName);
+
+    Mono<UUID> created =
+        reactiveEnabled
+            ? Mono.defer(
+                () -> {
+                  log.info("Creating Keycloak user: {}", username);
+                  return keycloakAdminClient.createUser(user);
+                })
+            : Mono.fromCallable(
+                    () -> {
+                      log.info("Creating Keycloak user: {}", username);
+
+                      RealmResource realmResource = keycloak.realm(realm);
+                      UsersResource usersResource = realmResource.users();
+
+                      Response response = usersResource.create(user);
+
+                      if (response.getStatusInfo().getFamily() == Family.CLIENT_ERROR) {
+                        throw new KeycloakException(
+                            "Failed to create user: " + response.getStatusInfo());
+                      }
+                      if (response.getStatus() != 201) {
+                        // 5xx: the user may exist, so leave the outcome to the saga relay
+                        throw new WebApplicationException(
+                            "Keycloak create returned " + response.getStatusInfo(), response);
+                      }
+
+                      String location = response.getLocation().getPath();
+                      return UUID.fromString(location.substring(location.lastIndexOf('/') + 1));
+                    })
+                .transform(this::bulkheaded);
+
+    return created
+        .transform(flowMetrics.stage(KEYCLOAK_ADMIN, "create_user"))
+        .doOnSuccess(keycloakId -> log.info("Keycloak user created with ID: {}", keycloakId))
         .doOnError(error -> log.error("Error creating Keycloak user: {}", error.getMessage()));
   }
 
   /** Find Keycloak user by email. */
   public Mono<UserRepresentation> findUserByEmail(String email) {
-    return Mono.fromCallable(
-            () -> {
-              log.debug("Searching Keycloak user by email: {}", email);
+    log.debug("Searching Keycloak user by email: {}", email);
 
-              RealmResource realmResource = keycloak.realm(realm);
-              UsersResource usersResource = realmResource.users();
+    Mono<UserRepresentation> found =
+        reactiveEnabled
+            ? keycloakAdminClient.findUsersByEmail(email).next()
+            : Mono.fromCallable(() -> first(keycloak.realm(realm).users().search(email, true)))
+                .transform(this::bulkheaded);
 
-              List<UserRepresentation> users = usersResource.search(email, true);
+    return found
+        .transform(flowMetrics.stage(KEYCLOAK_ADMIN, "find_by_email"))
+        .doOnNext(user -> log.debug("Found Keycloak user: {}", user.getUsername()))
+        .doOnError(error -> log.error("Error searching Keycloak user: {}", error.getMessage()));
+  }
 
-              if (users.isEmpty()) {
-                log.debug("No Keycloak user found with email: {}", email);
-                return null;
-              }
+  /** Find Keycloak user by exact username. */
+  public Mono<UserRepresentation> findUserByUsername(String username) {
+    log.debug("Searching Keycloak user by username: {}", username);
 
-              log.debug("Found Keycloak user: {}", users.get(0).getUsername());
-              return users.get(0);
-            })
-        .subscribeOn(Schedulers.boundedElastic())
+    Mono<UserRepresentation> found =
+        reactiveEnabled
+            ? keycloakAdminClient.findUsersByUsername(username).next()
+            : Mono.fromCallable(
+                    () -> first(keycloak.realm(realm).users().searchByUsername(username, true)))
+                .transform(this::bulkheaded);
+
+    return found
+        .transform(flowMetrics.stage(KEYCLOAK_ADMIN, "find_by_username"))
         .doOnError(error -> log.error("Error searching Keycloak user: {}", error.getMessage()));
   }
 
   /** Delete user from Keycloak. */
   public Mono<Void> deleteUser(UUID keycloakId) {
-    return Mono.fromRunnable(
-            () -> {
-              log.info("Deleting Keycloak user: {}", keycloakId);
-              keycloak.realm(realm).users().delete(keycloakId.toString());
-              log.info("Keycloak user deleted: {}", keycloakId);
-            })
-        .subscribeOn(Schedulers.boundedElastic())
-        .then()
+    log.info("Deleting Keycloak user: {}", keycloakId);
+
+    Mono<Void> deleted =
+        reactiveEnabled
+            ? keycloakAdminClient.deleteUser(keycloakId)
+            : Mono.fromRunnable(() -> keycloak.realm(realm).users().delete(keycloakId.toString()))
+                .transform(this::bulkheaded)
+                .then();
+
+    return deleted
+        .transform(flowMetrics.stage(KEYCLOAK_ADMIN, "delete_user"))
+        .doOnSuccess(v -> log.info("Keycloak user deleted: {}", keycloakId))
         .doOnError(error -> log.error("Error deleting Keycloak user: {}", error.getMessage()));
   }
+
+  /** Obtain the admin token up front so the first admin call does not pay for it. */
+  public Mono<Void> warmUp() {
+    return reactiveEnabled
+        ? keycloakAdminClient.warmUp()
+        : Mono.fromRunnable(() -> keycloak.tokenManager().getAccessTokenString())
+            .transform(this::bulkheaded)
+            .then();
+  }
+
+  /** Run a blocking admin call on the bulkhead; a full bulkhead means it was never sent. */
+  private <T> Mono<T> bulkheaded(Mono<T> call) {
+    return call.subscribeOn(keycloakAdminScheduler)
+        .onErrorMap(
+            RejectedExecutionException.class,
+            rejected ->
+                new ServiceUnavailableException(
+                    "Keycloak admin calls are saturated, please retry shortly",
+                    BULKHEAD_RETRY_AFTER));
+  }
+
+  private static UserRepresentation newUser(
+      String username, String email, String password, String firstName, String lastName) {
+    UserRepresentation user = new UserRepresentation();
+    user.setUsername(username);
+    user.setEmail(email);
+    user.setFirstName(firstName);
+    user.setLastName(lastName);
+    user.setEnabled(true);
+    user.setEmailVerified(false);
+
+    CredentialRepresentation credential = new CredentialRepresentation();
+    credential.setType(CredentialRepresentation.PASSWORD);
+    credential.setValue(password);
+    credential.setTemporary(false);
+    user.setCredentials(Collections.singletonList(credential));
+    return user;
+  }
+
+  /** First match or null, which {@code Mono.fromCallable} turns into an empty Mono. */
+  private static UserRepresentation first(List<UserRepresentation> users) {
+    return users.isEmpty() ? null : users.get(0);
+  }
 }
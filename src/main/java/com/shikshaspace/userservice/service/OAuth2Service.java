@@ -1,21 +1,18 @@
 package com.shikshaspace.userservice.service;
 
+import com.shikshaspace.userservice.client.GoogleIdTokenVerifier;
+import com.shikshaspace.userservice.client.KeycloakTokenClient;
 import com.shikshaspace.userservice.domain.User;
-import com.shikshaspace.userservice.dto.request.LoginRequest;
 import com.shikshaspace.userservice.dto.response.AuthResponse;
 import com.shikshaspace.userservice.exception.KeycloakException;
+import com.shikshaspace.userservice.exception.ServiceUnavailableException;
+import com.shikshaspace.userservice.metrics.FlowMetrics;
 import com.shikshaspace.userservice.repository.UserRepository;
-import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 /** Production-grade OAuth2 service for Google Sign-In integration. */
@@ -24,47 +21,32 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class OAuth2Service {
 
-  private final UserRepository userRepository;
-  private final KeycloakService keycloakService;
-  private final AuthService authService;
-  private final WebClient.Builder webClientBuilder;
-
-  @Value("${keycloak.server-url}")
-  private String keycloakServerUrl;
-
-  @Value("${keycloak.realm}")
-  private String realm;
+  private static final String GOOGLE_SIGN_IN = "google_sign_in";
 
-  @Value("${keycloak.client-id}")
-  private String clientId;
-
-  @Value("${keycloak.client-secret}")
-  private String clientSecret;
+  private final UserRepository userRepository;
+  private final RegistrationSagaService registrationSagaService;
+  private final KeycloakTokenClient keycloakTokenClient;
+  private final GoogleIdTokenVerifier googleIdTokenVerifier;
+  private final FlowMetrics flowMetrics;
 
   /** Handle Google Sign-In authentication. */
-  @Transactional
   public Mono<AuthResponse> handleGoogleSignIn(String googleIdToken) {
-    log.info("🔵 Processing Google Sign-In request");
+    log.debug("🔵 Processing Google Sign-In request");
 
     return validateGoogleTokenDirectly(googleIdToken)
         .flatMap(this::processUserAuthenticationDirect)
+        .transform(flowMetrics.stage(GOOGLE_SIGN_IN, FlowMetrics.TOTAL))
         .doOnSuccess(
-            response -> log.info("✅ Google Sign-In successful for: {}", response.getUsername()))
+            response -> log.debug("✅ Google Sign-In successful for: {}", response.getUsername()))
         .doOnError(error -> log.error("❌ Google Sign-In failed: {}", error.getMessage()));
   }
 
-  /** Validate Google ID token directly using Google's API. */
+  /** Verify Google ID token locally against Google's signing keys. */
   private Mono<Map<String, Object>> validateGoogleTokenDirectly(String googleIdToken) {
-    String googleTokenInfoUrl = "https://oauth2.googleapis.com/tokeninfo?id_token=" + googleIdToken;
-
-    return webClientBuilder
-        .build()
-        .get()
-        .uri(googleTokenInfoUrl)
-        .retrieve()
-        .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-        .timeout(Duration.ofSeconds(10))
-        .doOnSuccess(info -> log.info("✅ Google token validated"))
+    return googleIdTokenVerifier
+        .verify(googleIdToken)
+        .transform(flowMetrics.stage(GOOGLE_SIGN_IN, "verify_id_token"))
+        .doOnSuccess(info -> log.debug("✅ Google token validated"))
         .doOnError(error -> log.error("❌ Google token validation failed: {}", error.getMessage()));
   }
 
@@ -79,82 +61,72 @@ public class OAuth2Service {
 
     return userRepository
         .findByEmail(email)
+        .transform(flowMetrics.stage(GOOGLE_SIGN_IN, "user_lookup"))
         .flatMap(
             existingUser -> {
-              log.info("✅ Existing Google user found: {}", existingUser.getUsername());
+              log.debug("✅ Existing Google user found: {}", existingUser.getUsername());
               return authenticateExistingUser(existingUser);
             })
         .switchIfEmpty(
             Mono.defer(
                 () -> {
-                  log.info("🔵 Creating new Google user: {}", email);
+                  log.debug("🔵 Creating new Google user: {}", email);
                   return createAndAuthenticateNewUser(email, username, firstName, lastName);
                 }));
   }
 
-  /** Authenticate existing user. */
+  /**
+   * Authenticate existing user via Keycloak token exchange. Tokens are issued for the mapped
+   * Keycloak user in one call, without a password grant.
+   */
   private Mono<AuthResponse> authenticateExistingUser(User user) {
-    String tempPassword = "OAUTH_" + user.getKeycloakId().toString();
-    LoginRequest loginRequest = new LoginRequest(user.getUsername(), tempPassword);
-
-    return authService
-        .login(loginRequest)
-        .doOnSuccess(response -> log.info("✅ Existing user authenticated: {}", user.getUsername()))
-        .onErrorResume(
-            error -> {
-              log.warn("⚠️ Login failed, attempting password reset");
-              return resetKeycloakPassword(user.getKeycloakId(), tempPassword)
-                  .then(authService.login(loginRequest));
-            });
+    return issueTokens(user)
+        .doOnSuccess(
+            response -> log.debug("✅ Existing user authenticated: {}", user.getUsername()));
   }
 
   /** Create new Google user in Keycloak and database. */
   private Mono<AuthResponse> createAndAuthenticateNewUser(
       String email, String username, String firstName, String lastName) {
 
+    // Never used to log in; Google users only obtain tokens through token exchange
     String randomPassword = "GOOGLE_OAUTH_" + UUID.randomUUID();
 
-    log.info("🔵 Creating new Google user in Keycloak: {}", email);
+    log.debug("🔵 Creating new Google user in Keycloak: {}", email);
 
-    return keycloakService
-        .createUser(username, email, randomPassword, firstName, lastName)
-        .doOnSuccess(keycloakId -> log.info("✅ Google user created in Keycloak: {}", keycloakId))
-        .flatMap(
-            keycloakId -> {
-              User newUser =
-                  User.builder()
-                      .keycloakId(keycloakId)
-                      .username(username)
-                      .email(email)
-                      .firstName(firstName)
-                      .lastName(lastName)
-                      .emailVerified(true)
-                      .isActive(true)
-                      .createdAt(LocalDateTime.now())
-                      .updatedAt(LocalDateTime.now())
-                      .build();
-
-              return userRepository
-                  .save(newUser)
-                  .doOnSuccess(
-                      user -> log.info("✅ Google user saved to database: {}", user.getUsername()));
-            })
+    return registrationSagaService
+        .register(username, email, randomPassword, firstName, lastName, true)
+        .transform(flowMetrics.stage(GOOGLE_SIGN_IN, "registration"))
+        .doOnSuccess(user -> log.debug("✅ Google user registered: {}", user.getUsername()))
         .flatMap(
             savedUser -> {
-              log.info("🔵 Authenticating new Google user: {}", savedUser.getUsername());
-              return authService.login(new LoginRequest(username, randomPassword));
+              log.debug("🔵 Authenticating new Google user: {}", savedUser.getUsername());
+              return issueTokens(savedUser);
             })
         .doOnSuccess(
-            response -> log.info("✅ Google user authenticated: {}", response.getUsername()))
+            response -> log.debug("✅ Google user authenticated: {}", response.getUsername()))
         .doOnError(error -> log.error("❌ Failed to create Google user: {}", error.getMessage()))
         .onErrorResume(
+            error -> !(error instanceof ServiceUnavailableException),
             error ->
-                Mono.error(new KeycloakException("Google sign-in failed: " + error.getMessage())));
+                Mono.error(
+                    new KeycloakException("Google sign-in failed: " + error.getMessage(), error)));
   }
 
-  /** Reset Keycloak user password (helper method). */
-  private Mono<Void> resetKeycloakPassword(UUID keycloakId, String newPassword) {
-    log.warn("⚠️ Password reset needed for Keycloak user: {}", keycloakId);
-    return Mono.empty();
+  /** Exchange for Keycloak tokens on behalf of the user mapped to the verified Google identity. */
+  private Mono<AuthResponse> issueTokens(User user) {
+    return keycloakTokenClient
+        .exchangeForUser(user.getKeycloakId())
+        .transform(flowMetrics.stage(GOOGLE_SIGN_IN, "token_exchange"))
+        .map(
+            tokenResponse ->
+                AuthResponse.builder()
+                    .token(tokenResponse.getAccessToken())
+                    .refreshToken(tokenResponse.getRefreshToken())
+                    .expiresIn(tokenResponse.getExpiresIn())
+                    .userId(user.getId())
+                    .username(user.getUsername())
+                    .email(user.getEmail())
+                    .build());
   }
 }
@@ -0,0 +1,112 @@
+package com.shikshaspace.userservice.service;
+
+import com.shikshaspace.userservice.repository.RegistrationSagaRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Background relay for the registration outbox. Periodically leases a batch of due sagas and hands
+ * each to {@link RegistrationSagaService#recover}, and deletes terminal sagas (which hold username
+ * and email) once they are older than the retention period. Safe to run on every replica.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+    name = "registration.saga.relay.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class RegistrationSagaRelay {
+
+  private final RegistrationSagaRepository sagaRepository;
+  private final RegistrationSagaService sagaService;
+
+  @Value("${registration.saga.relay.interval:10s}")
+  private Duration interval;
+
+  @Value("${registration.saga.relay.batch-size:50}")
+  private int batchSize;
+
+  @Value("${registration.saga.relay.lease:1m}")
+  private Duration lease;
+
+  @Value("${registration.saga.retention:7d}")
+  private Duration retention;
+
+  @Value("${registration.saga.retention-interval:1h}")
+  private Duration retentionInterval;
+
+  @Value("${registration.saga.retention-batch-size:1000}")
+  private int retentionBatchSize;
+
+  private Disposable subscription;
+  private Disposable pruning;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    log.info("Starting registration saga relay (interval={}, batchSize={})", interval, batchSize);
+    subscription =
+        Flux.interval(interval).onBackpressureDrop().concatMap(tick -> relayBatch()).subscribe();
+    pruning =
+        Flux.interval(retentionInterval)
+            .onBackpressureDrop()
+            .concatMap(tick -> pruneTerminal())
+            .subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (subscription != null) {
+      subscription.dispose();
+    }
+    if (pruning != null) {
+      pruning.dispose();
+    }
+  }
+
+  private Mono<Void> relayBatch() {
+    LocalDateTime now = LocalDateTime.now();
+    return sagaRepository
+        .claimDue(now, now.plus(lease), batchSize)
+        .concatMap(sagaService::recover)
+        .then()
+        .onErrorResume(
+            error -> {
+              log.error("❌ Registration saga relay batch failed: {}", error.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  /** Delete terminal sagas older than the retention period, one bounded batch at a time. */
+  private Mono<Void> pruneTerminal() {
+    LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+    Mono<Integer> batch =
+        Mono.defer(() -> sagaRepository.deleteTerminalBefore(cutoff, retentionBatchSize));
+    return batch
+        .expand(deleted -> deleted < retentionBatchSize ? Mono.empty() : batch)
+        .reduce(0, Integer::sum)
+        .doOnNext(
+            deleted -> {
+              if (deleted > 0) {
+                log.info("Pruned {} registration sagas older than {}", deleted, retention);
+              }
+            })
+        .then()
+        .onErrorResume(
+            error -> {
+              log.error("❌ Registration saga pruning failed: {}", error.getMessage());
+              return Mono.empty();
+            });
+  }
+}
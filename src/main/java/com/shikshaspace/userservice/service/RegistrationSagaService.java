@@ -0,0 +1,287 @@
+package com.shikshaspace.userservice.service;
+
+import com.shikshaspace.userservice.domain.RegistrationSaga;
+import com.shikshaspace.userservice.domain.RegistrationSaga.Status;
+import com.shikshaspace.userservice.domain.User;
+import com.shikshaspace.userservice.exception.KeycloakException;
+import com.shikshaspace.userservice.exception.ServiceUnavailableException;
+import com.shikshaspace.userservice.metrics.FlowMetrics;
+import com.shikshaspace.userservice.repository.RegistrationSagaRepository;
+import com.shikshaspace.userservice.repository.UserRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Registration saga backed by the {@code registration_saga} outbox table.
+ *
+ * <p>The request path records the saga, creates the Keycloak user outside any transaction, then
+ * writes the users row and completes the saga in one short local transaction. If that write fails
+ * the Keycloak user is deleted right away; anything left unfinished (crash, timeout, failed
+ * compensation) is picked up by {@link RegistrationSagaRelay} via {@link #recover}. Every step is
+ * safe to repeat. Passwords are never stored in the outbox.
+ *
+ * <p>Saga rows carry a {@code @Version}, so when the request path and the relay race, the second
+ * status write fails instead of overwriting the first. Bookkeeping writes (retry schedule, last
+ * error) yield to the other writer; status transitions fail the step.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RegistrationSagaService {
+
+  private static final String REGISTRATION = "registration";
+
+  private final RegistrationSagaRepository sagaRepository;
+  private final UserRepository userRepository;
+  private final KeycloakService keycloakService;
+  private final TransactionalOperator transactionalOperator;
+  private final FlowMetrics flowMetrics;
+
+  @Value("${registration.saga.stale-after:2m}")
+  private Duration staleAfter;
+
+  @Value("${registration.saga.max-backoff:10m}")
+  private Duration maxBackoff;
+
+  /** Register a user in Keycloak and the database, returning the stored user. */
+  public Mono<User> register(
+      String username,
+      String email,
+      String password,
+      String firstName,
+      String lastName,
+      boolean emailVerified) {
+    LocalDateTime now = LocalDateTime.now();
+    RegistrationSaga saga =
+        RegistrationSaga.builder()
+            .username(username)
+            .email(email)
+            .firstName(firstName)
+            .lastName(lastName)
+            .emailVerified(emailVerified)
+            .status(Status.PENDING)
+            .attempts(0)
+            .nextAttemptAt(now.plus(staleAfter))
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+
+    return sagaRepository
+        .save(saga)
+        .transform(flowMetrics.stage(REGISTRATION, "saga_insert"))
+        .onErrorMap(
+            DataIntegrityViolationException.class,
+            error -> new KeycloakException("Registration already in progress for: " + username))
+        .flatMap(
+            started ->
+                keycloakService
+                    .createUser(username, email, password, firstName, lastName)
+                    .transform(flowMetrics.stage(REGISTRATION, "keycloak_create"))
+                    .onErrorResume(error -> keycloakCreateFailed(started, error))
+                    .flatMap(keycloakId -> markKeycloakCreated(started, keycloakId)))
+        .flatMap(
+            created ->
+                completeInDatabase(created)
+                    .transform(flowMetrics.stage(REGISTRATION, "db_save"))
+                    .onErrorResume(error -> rollBack(created, error)));
+  }
+
+  /**
+   * Drive an unfinished saga to a terminal state. Called by the relay for sagas that are due; any
+   * error leaves the saga open and schedules a retry with backoff.
+   */
+  public Mono<Void> recover(RegistrationSaga saga) {
+    log.info("🔵 Recovering registration saga {} in state {}", saga.getId(), saga.getStatus());
+
+    Mono<RegistrationSaga> step =
+        switch (saga.getStatus()) {
+          case PENDING -> recoverPending(saga);
+          case KEYCLOAK_CREATED -> recoverKeycloakCreated(saga);
+          case COMPENSATING -> compensate(saga);
+          default -> Mono.just(saga);
+        };
+
+    return step.then()
+        .onErrorResume(
+            error -> !(error instanceof OptimisticLockingFailureException),
+            error -> {
+              int attempts = saga.getAttempts() == null ? 1 : saga.getAttempts() + 1;
+              log.error(
+                  "❌ Registration saga {} step failed (attempt {}): {}",
+                  saga.getId(),
+                  attempts,
+                  error.getMessage());
+              saga.setAttempts(attempts);
+              saga.setLastError(error.getMessage());
+              saga.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+              return saveUnlessChanged(saga).then();
+            })
+        .onErrorResume(
+            OptimisticLockingFailureException.class,
+            conflict -> {
+              log.warn("⚠️ Registration saga {} changed concurrently, skipping", saga.getId());
+              return Mono.empty();
+            });
+  }
+
+  private Mono<UUID> keycloakCreateFailed(RegistrationSaga saga, Throwable error) {
+    if (error instanceof KeycloakException || error instanceof ServiceUnavailableException) {
+      // Keycloak rejected the user, or the call was shed before it was sent: nothing was created
+      return transition(saga, Status.FAILED, error).then(Mono.error(error));
+    }
+    // Outcome unknown (e.g. timeout): let the relay check Keycloak now
+    saga.setLastError(error.getMessage());
+    saga.setNextAttemptAt(LocalDateTime.now());
+    return saveUnlessChanged(saga).then(Mono.error(error));
+  }
+
+  private Mono<RegistrationSaga> markKeycloakCreated(RegistrationSaga saga, UUID keycloakId) {
+    saga.setKeycloakId(keycloakId);
+    saga.setStatus(Status.KEYCLOAK_CREATED);
+    return sagaRepository.save(saga);
+  }
+
+  /** Write the users row and complete the saga in one local transaction. */
+  private Mono<User> completeInDatabase(RegistrationSaga saga) {
+    return userRepository
+        .findByKeycloakId(saga.getKeycloakId())
+        .switchIfEmpty(Mono.defer(() -> userRepository.save(newUser(saga))))
+        .flatMap(user -> transition(saga, Status.COMPLETED, null).thenReturn(user))
+        .as(transactionalOperator::transactional)
+        .doOnSuccess(
+            user ->
+                log.info("✅ Registration saga {} completed: {}", saga.getId(), user.getUsername()));
+  }
+
+  /** The users write failed: delete the Keycloak user now, or leave it to the relay. */
+  private Mono<User> rollBack(RegistrationSaga saga, Throwable error) {
+    log.error("❌ Registration saga {} database step failed: {}", saga.getId(), error.getMessage());
+    saga.setLastError(error.getMessage());
+    return compensate(saga)
+        .onErrorResume(
+            compensationError -> {
+              saga.setStatus(Status.COMPENSATING);
+              saga.setNextAttemptAt(LocalDateTime.now());
+              return saveUnlessChanged(saga);
+            })
+        .onErrorResume(OptimisticLockingFailureException.class, conflict -> Mono.empty())
+        .then(Mono.error(error));
+  }
+
+  /**
+   * Outcome of the Keycloak create is unknown: undo it if this saga created the user. A matching
+   * Keycloak user that predates the saga or already has a users row belongs to an existing account
+   * (e.g. the create would have been a 409), so the saga just fails and nothing is deleted.
+   */
+  private Mono<RegistrationSaga> recoverPending(RegistrationSaga saga) {
+    return keycloakService
+        .findUserByUsername(saga.getUsername())
+        .filter(existing -> saga.getEmail().equalsIgnoreCase(existing.getEmail()))
+        .filter(existing -> !createdBeforeSaga(existing, saga))
+        .flatMap(
+            existing -> {
+              UUID keycloakId = UUID.fromString(existing.getId());
+              return userRepository
+                  .findByKeycloakId(keycloakId)
+                  .hasElement()
+                  .filter(owned -> !owned)
+                  .flatMap(
+                      orphan -> {
+                        saga.setKeycloakId(keycloakId);
+                        return compensate(saga);
+                      });
+            })
+        .switchIfEmpty(Mono.defer(() -> transition(saga, Status.FAILED, null)));
+  }
+
+  private static boolean createdBeforeSaga(UserRepresentation existing, RegistrationSaga saga) {
+    if (existing.getCreatedTimestamp() == null || saga.getCreatedAt() == null) {
+      return false;
+    }
+    LocalDateTime created =
+        LocalDateTime.ofInstant(
+            Instant.ofEpochMilli(existing.getCreatedTimestamp()), ZoneId.systemDefault());
+    return created.isBefore(saga.getCreatedAt());
+  }
+
+  /** The request path never finished: keep the saga if the users row exists, else undo it. */
+  private Mono<RegistrationSaga> recoverKeycloakCreated(RegistrationSaga saga) {
+    return userRepository
+        .findByKeycloakId(saga.getKeycloakId())
+        .flatMap(user -> transition(saga, Status.COMPLETED, null))
+        .switchIfEmpty(Mono.defer(() -> compensate(saga)));
+  }
+
+  /** Delete the Keycloak user. Deleting an already deleted user is a no-op. */
+  private Mono<RegistrationSaga> compensate(RegistrationSaga saga) {
+    if (saga.getKeycloakId() == null) {
+      return transition(saga, Status.FAILED, null);
+    }
+    return keycloakService
+        .deleteUser(saga.getKeycloakId())
+        .then(Mono.defer(() -> transition(saga, Status.COMPENSATED, null)))
+        .doOnSuccess(
+            compensated ->
+                log.warn(
+                    "⚠️ Registration saga {} compensated: Keycloak user {} deleted",
+                    saga.getId(),
+                    saga.getKeycloakId()));
+  }
+
+  private Mono<RegistrationSaga> transition(RegistrationSaga saga, Status status, Throwable error) {
+    saga.setStatus(status);
+    if (error != null) {
+      saga.setLastError(error.getMessage());
+    }
+    return sagaRepository.save(saga);
+  }
+
+  /**
+   * Save a saga unless another writer updated it since it was read; the other writer's state wins
+   * and an open saga is picked up again by the relay.
+   */
+  private Mono<RegistrationSaga> saveUnlessChanged(RegistrationSaga saga) {
+    return sagaRepository
+        .save(saga)
+        .onErrorResume(
+            OptimisticLockingFailureException.class,
+            conflict -> {
+              log.warn(
+                  "⚠️ Registration saga {} changed concurrently, keeping the newer state",
+                  saga.getId());
+              return Mono.empty();
+            });
+  }
+
+  private Duration backoff(int attempts) {
+    Duration delay = Duration.ofSeconds(1L << Math.min(attempts, 20));
+    return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+  }
+
+  private static User newUser(RegistrationSaga saga) {
+    LocalDateTime now = LocalDateTime.now();
+    return User.builder()
+        .keycloakId(saga.getKeycloakId())
+        .username(saga.getUsername())
+        .email(saga.getEmail())
+        .firstName(saga.getFirstName())
+        .lastName(saga.getLastName())
+        .emailVerified(Boolean.TRUE.equals(saga.getEmailVerified()))
+        .isActive(true)
+        .createdAt(now)
+        .updatedAt(now)
+        .build();
+  }
+}
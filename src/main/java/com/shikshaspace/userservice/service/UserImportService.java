@@ -0,0 +1,278 @@
+package com.shikshaspace.userservice.service;
+
+import com.shikshaspace.userservice.dto.request.RegisterRequest;
+import com.shikshaspace.userservice.dto.response.ImportResultResponse;
+import com.shikshaspace.userservice.dto.response.ImportResultResponse.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
+
+/**
+ * Bulk user import for onboarding whole institutions.
+ *
+ * <p>Rows are validated, created in Keycloak with bounded concurrency (order preserved) and then
+ * written to {@code users} with one multi-row INSERT per batch. Keycloak users whose row could not
+ * be stored are deleted again. Unlike {@link AuthService#register} there is no auto-login.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+
+  private static final String CSV_HEADER_FIRST_COLUMN = "username";
+  private static final int CSV_COLUMNS = 5;
+  // Postgres allows at most 65535 bind parameters per statement; each row binds 5, plus :now
+  private static final int MAX_BIND_PARAMETERS = 65535;
+  private static final int BIND_PARAMETERS_PER_ROW = 5;
+  private static final int MAX_BATCH_SIZE = (MAX_BIND_PARAMETERS - 1) / BIND_PARAMETERS_PER_ROW;
+
+  private final KeycloakService keycloakService;
+  private final DatabaseClient databaseClient;
+  private final Validator validator;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${user.import.keycloak-concurrency:16}")
+  private int keycloakConcurrency;
+
+  @Value("${user.import.batch-size:500}")
+  private int batchSize;
+
+  @Value("${user.import.batch-max-wait:250ms}")
+  private Duration batchMaxWait;
+
+  /** Import a stream of registrations, emitting one result per row in input order. */
+  public Flux<ImportResultResponse> importUsers(Flux<RegisterRequest> requests) {
+    return importRows(
+        requests.index().map(row -> new ImportRow(row.getT1() + 1, row.getT2(), null, null)));
+  }
+
+  /**
+   * Import CSV lines with the columns {@code username,email,password,firstName,lastName}. Blank
+   * lines are ignored and an optional header row is skipped; results carry the line number in the
+   * uploaded file. Quoted fields are not supported.
+   */
+  public Flux<ImportResultResponse> importCsv(Flux<String> lines) {
+    return importRows(
+        lines
+            .index()
+            .map(line -> Tuples.of(line.getT1() + 1, line.getT2().strip()))
+            .filter(line -> !line.getT2().isEmpty())
+            .index()
+            .filter(line -> !(line.getT1() == 0 && isHeader(line.getT2().getT2())))
+            .map(line -> parseCsvLine(line.getT2().getT1(), line.getT2().getT2())));
+  }
+
+  /**
+   * Rows go through Keycloak with bounded concurrency, then into the database in batches of up to
+   * {@code batchSize} (capped so one INSERT stays within the bind-parameter limit). A batch is also
+   * flushed after {@code batchMaxWait}, so results keep flowing when rows arrive slower than a full
+   * batch.
+   */
+  private Flux<ImportResultResponse> importRows(Flux<ImportRow> rows) {
+    return rows.flatMapSequential(this::createInKeycloak, keycloakConcurrency)
+        .bufferTimeout(effectiveBatchSize(), batchMaxWait, true)
+        .concatMap(this::insertBatch)
+        .doOnNext(
+            result ->
+                meterRegistry
+                    .counter("user.import.rows", "status", result.getStatus().name())
+                    .increment());
+  }
+
+  private static ImportRow parseCsvLine(long line, String text) {
+    String[] columns = text.split(",", -1);
+    if (columns.length != CSV_COLUMNS) {
+      RegisterRequest request = RegisterRequest.builder().username(columns[0].strip()).build();
+      return new ImportRow(
+          line, request, null, "expected " + CSV_COLUMNS + " columns, got " + columns.length);
+    }
+    RegisterRequest request =
+        RegisterRequest.builder()
+            .username(columns[0].strip())
+            .email(columns[1].strip())
+            .password(columns[2].strip())
+            .firstName(columns[3].strip())
+            .lastName(columns[4].strip())
+            .build();
+    return new ImportRow(line, request, null, null);
+  }
+
+  private int effectiveBatchSize() {
+    return Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+  }
+
+  private static boolean isHeader(String line) {
+    return line.split(",", -1)[0].strip().equalsIgnoreCase(CSV_HEADER_FIRST_COLUMN);
+  }
+
+  /** Validate a parsed row and create its Keycloak user; rows that already failed pass through. */
+  private Mono<ImportRow> createInKeycloak(ImportRow row) {
+    if (row.error() != null) {
+      return Mono.just(row);
+    }
+    RegisterRequest request = row.request();
+    long line = row.line();
+    Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      String error =
+          violations.stream()
+              .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+              .sorted()
+              .collect(Collectors.joining(", "));
+      return Mono.just(new ImportRow(line, request, null, error));
+    }
+
+    return keycloakService
+        .createUser(
+            request.getUsername(),
+            request.getEmail(),
+            request.getPassword(),
+            request.getFirstName(),
+            request.getLastName())
+        .map(keycloakId -> new ImportRow(line, request, keycloakId, null))
+        .onErrorResume(error -> Mono.just(new ImportRow(line, request, null, error.getMessage())));
+  }
+
+  private Flux<ImportResultResponse> insertBatch(List<ImportRow> batch) {
+    List<ImportRow> created = batch.stream().filter(ImportRow::isCreated).toList();
+    if (created.isEmpty()) {
+      return Flux.fromIterable(batch).map(row -> failed(row, row.error()));
+    }
+
+    return insertUsers(created)
+        .flatMapMany(
+            idsByUsername ->
+                compensate(
+                        created.stream()
+                            .filter(row -> !idsByUsername.containsKey(row.username()))
+                            .toList())
+                    .thenMany(
+                        Flux.fromIterable(batch)
+                            .map(row -> toResult(row, idsByUsername.get(row.username())))))
+        .onErrorResume(
+            error -> {
+              log.error("❌ Import batch insert failed: {}", error.getMessage());
+              return compensate(created)
+                  .thenMany(
+                      Flux.fromIterable(batch)
+                          .map(
+                              row ->
+                                  failed(
+                                      row,
+                                      row.isCreated()
+                                          ? "Database insert failed: " + error.getMessage()
+                                          : row.error())));
+            });
+  }
+
+  /** One multi-row INSERT for the batch; returns the generated id of every inserted username. */
+  private Mono<Map<String, UUID>> insertUsers(List<ImportRow> rows) {
+    StringBuilder sql =
+        new StringBuilder(
+            "INSERT INTO users (keycloak_id, username, email, first_name, last_name, "
+                + "email_verified, is_active, created_at, updated_at) VALUES ");
+    for (int i = 0; i < rows.size(); i++) {
+      sql.append(i == 0 ? "" : ", ")
+          .append("(:k")
+          .append(i)
+          .append(", :u")
+          .append(i)
+          .append(", :e")
+          .append(i)
+          .append(", :f")
+          .append(i)
+          .append(", :l")
+          .append(i)
+          .append(", FALSE, TRUE, :now, :now)");
+    }
+    sql.append(" ON CONFLICT DO NOTHING RETURNING id, username");
+
+    DatabaseClient.GenericExecuteSpec spec =
+        databaseClient.sql(sql.toString()).bind("now", LocalDateTime.now());
+    for (int i = 0; i < rows.size(); i++) {
+      RegisterRequest request = rows.get(i).request();
+      spec =
+          spec.bind("k" + i, rows.get(i).keycloakId())
+              .bind("u" + i, request.getUsername())
+              .bind("e" + i, request.getEmail())
+              .bind("f" + i, request.getFirstName())
+              .bind("l" + i, request.getLastName());
+    }
+
+    return spec.map(
+            (row, metadata) ->
+                Map.entry(row.get("username", String.class), row.get("id", UUID.class)))
+        .all()
+        .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+  }
+
+  /** Delete Keycloak users whose database row was not written. */
+  private Mono<Void> compensate(List<ImportRow> rows) {
+    return Flux.fromIterable(rows)
+        .flatMap(
+            row ->
+                keycloakService
+                    .deleteUser(row.keycloakId())
+                    .onErrorResume(
+                        error -> {
+                          log.error(
+                              "❌ Orphan Keycloak user {} left by import: {}",
+                              row.keycloakId(),
+                              error.getMessage());
+                          return Mono.empty();
+                        }),
+            keycloakConcurrency)
+        .then();
+  }
+
+  private ImportResultResponse toResult(ImportRow row, UUID userId) {
+    if (!row.isCreated()) {
+      return failed(row, row.error());
+    }
+    if (userId == null) {
+      return failed(row, "User already exists");
+    }
+    return ImportResultResponse.builder()
+        .line(row.line())
+        .username(row.username())
+        .status(Status.CREATED)
+        .userId(userId)
+        .build();
+  }
+
+  private ImportResultResponse failed(ImportRow row, String error) {
+    return ImportResultResponse.builder()
+        .line(row.line())
+        .username(row.username())
+        .status(Status.FAILED)
+        .error(error)
+        .build();
+  }
+
+  /** An input row; after the Keycloak step it holds either a keycloakId or an error. */
+  private record ImportRow(long line, RegisterRequest request, UUID keycloakId, String error) {
+
+    boolean isCreated() {
+      return keycloakId != null;
+    }
+
+    String username() {
+      return request.getUsername();
+    }
+  }
+}
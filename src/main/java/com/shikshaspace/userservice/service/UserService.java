@@ -1,15 +1,29 @@
 package com.shikshaspace.userservice.service;
 
+import com.shikshaspace.userservice.cache.UserCache;
 import com.shikshaspace.userservice.domain.User;
-import com.shikshaspace.userservice.dto.request.RegisterRequest;
+import com.shikshaspace.userservice.dto.request.BatchUserLookupRequest;
 import com.shikshaspace.userservice.dto.request.UpdateProfileRequest;
+import com.shikshaspace.userservice.dto.request.UserSearchCriteria;
+import com.shikshaspace.userservice.dto.response.BatchUserLookupResponse;
+import com.shikshaspace.userservice.dto.response.UserPageResponse;
+import com.shikshaspace.userservice.exception.InvalidRequestException;
 import com.shikshaspace.userservice.exception.UserNotFoundException;
 import com.shikshaspace.userservice.mapper.UserMapper;
+import com.shikshaspace.userservice.repository.UserCursor;
 import com.shikshaspace.userservice.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -24,45 +38,41 @@ public class UserService {
   private final UserRepository userRepository;
   private final KeycloakService keycloakService;
   private final UserMapper userMapper;
+  private final UserCache userCache;
+  private final MeterRegistry meterRegistry;
 
-  /** Register new user in Keycloak and local database. */
-  @Transactional
-  public Mono<User> registerUser(RegisterRequest request) {
-    log.info("Registering user: {}", request.getUsername());
-
-    return keycloakService
-        .createUser(
-            request.getUsername(),
-            request.getEmail(),
-            request.getPassword(),
-            request.getFirstName(),
-            request.getLastName())
-        .flatMap(
-            keycloakId -> {
-              User user = userMapper.toEntity(request);
-              user.setKeycloakId(keycloakId);
-              user.setCreatedAt(LocalDateTime.now());
-              user.setUpdatedAt(LocalDateTime.now());
+  @Value("${user.listing.max-page-size:100}")
+  private int maxPageSize;
 
-              return userRepository.save(user);
-            })
-        .doOnSuccess(user -> log.info("User registered successfully: {}", user.getId()))
-        .doOnError(error -> log.error("User registration failed: {}", error.getMessage()));
+  @Value("${user.batch.max-keys:200}")
+  private int maxBatchKeys;
+
+  @Value("${user.export.chunk-size:500}")
+  private int exportChunkSize;
+
+  private Counter exportedRows;
+
+  @PostConstruct
+  void init() {
+    exportedRows =
+        Counter.builder("user.export.rows")
+            .description("Rows streamed by the admin user export")
+            .register(meterRegistry);
   }
 
   /** Get user by ID. */
   public Mono<User> getUserById(UUID id) {
     log.debug("Fetching user by ID: {}", id);
-    return userRepository
-        .findById(id)
+    return userCache
+        .findById(id, () -> userRepository.findById(id))
         .switchIfEmpty(Mono.error(new UserNotFoundException("User not found with ID: " + id)));
   }
 
   /** Get user by email. */
   public Mono<User> getUserByEmail(String email) {
     log.debug("Fetching user by email: {}", email);
-    return userRepository
-        .findByEmail(email)
+    return userCache
+        .findByEmail(email, () -> userRepository.findByEmail(email))
         .switchIfEmpty(
             Mono.error(new UserNotFoundException("User not found with email: " + email)));
   }
@@ -70,22 +80,162 @@ public class UserService {
   /** Get user by username. */
   public Mono<User> getUserByUsername(String username) {
     log.debug("Fetching user by username: {}", username);
-    return userRepository
-        .findByUsername(username)
+    return userCache
+        .findByUsername(username, () -> userRepository.findByUsername(username))
         .switchIfEmpty(
             Mono.error(new UserNotFoundException("User not found with username: " + username)));
   }
 
-  /** Get all users (admin only). */
-  public Flux<User> getAllUsers() {
-    log.debug("Fetching all users");
-    return userRepository.findAll();
+  /**
+   * Resolve many users at once. Each key list is answered by a single {@code = ANY(?)} query and
+   * the results keep request order, with explicit misses.
+   */
+  public Mono<BatchUserLookupResponse> lookupUsers(BatchUserLookupRequest request) {
+    List<UUID> ids = nullToEmpty(request.getIds());
+    List<String> usernames = nullToEmpty(request.getUsernames());
+    List<UUID> keycloakIds = nullToEmpty(request.getKeycloakIds());
+
+    int keyCount = ids.size() + usernames.size() + keycloakIds.size();
+    if (keyCount > maxBatchKeys) {
+      return Mono.error(
+          new InvalidRequestException(
+              "Batch lookup accepts at most " + maxBatchKeys + " keys, got " + keyCount));
+    }
+    log.debug("Batch lookup of {} users", keyCount);
+
+    Mono<Map<UUID, User>> byId =
+        ids.isEmpty()
+            ? Mono.just(Map.of())
+            : userRepository
+                .findAllByIdIn(ids.stream().distinct().toArray(UUID[]::new))
+                .collectMap(User::getId);
+    Mono<Map<String, User>> byUsername =
+        usernames.isEmpty()
+            ? Mono.just(Map.of())
+            : userRepository
+                .findAllByUsernameIn(usernames.stream().distinct().toArray(String[]::new))
+                .collectMap(User::getUsername);
+    Mono<Map<UUID, User>> byKeycloakId =
+        keycloakIds.isEmpty()
+            ? Mono.just(Map.of())
+            : userRepository
+                .findAllByKeycloakIdIn(keycloakIds.stream().distinct().toArray(UUID[]::new))
+                .collectMap(User::getKeycloakId);
+
+    return Mono.zip(byId, byUsername, byKeycloakId)
+        .map(
+            found ->
+                BatchUserLookupResponse.builder()
+                    .ids(toResults(ids, found.getT1()))
+                    .usernames(toResults(usernames, found.getT2()))
+                    .keycloakIds(toResults(keycloakIds, found.getT3()))
+                    .build());
+  }
+
+  private <K> List<BatchUserLookupResponse.Result> toResults(List<K> keys, Map<K, User> found) {
+    return keys.stream()
+        .map(
+            key -> {
+              User user = found.get(key);
+              return BatchUserLookupResponse.Result.builder()
+                  .key(String.valueOf(key))
+                  .found(user != null)
+                  .user(user != null ? userMapper.toResponse(user) : null)
+                  .build();
+            })
+        .toList();
+  }
+
+  private static <T> List<T> nullToEmpty(List<T> list) {
+    return list != null ? list : List.of();
+  }
+
+  /**
+   * List users (admin only) one keyset page at a time, newest first. {@code cursor} is the opaque
+   * token returned as {@code nextCursor} by the previous page.
+   */
+  public Mono<UserPageResponse> listUsers(UserSearchCriteria criteria, String cursor, int size) {
+    int pageSize = Math.min(Math.max(size, 1), maxPageSize);
+    log.debug("Listing users: criteria={}, pageSize={}", criteria, pageSize);
+
+    UserCursor after;
+    try {
+      after = cursor == null || cursor.isBlank() ? null : UserCursor.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      return Mono.error(new InvalidRequestException("Invalid cursor", e));
+    }
+
+    // Fetch one extra row to learn whether another page exists
+    return userRepository
+        .findPage(criteria, after, pageSize + 1)
+        .collectList()
+        .map(
+            users -> {
+              boolean hasMore = users.size() > pageSize;
+              List<User> page = hasMore ? users.subList(0, pageSize) : users;
+              return UserPageResponse.builder()
+                  .items(page.stream().map(userMapper::toResponse).toList())
+                  .nextCursor(hasMore ? UserCursor.of(page.get(pageSize - 1)).encode() : null)
+                  .hasMore(hasMore)
+                  .build();
+            });
+  }
+
+  /**
+   * Stream every user (admin only) in fixed-size keyset chunks. The next chunk is queried only once
+   * downstream demand reaches it, so memory stays bounded by one chunk whatever the table size.
+   */
+  public Flux<User> exportUsers() {
+    return Flux.defer(
+        () -> {
+          log.info("Starting user export (chunkSize={})", exportChunkSize);
+          long startNanos = System.nanoTime();
+          AtomicLong rows = new AtomicLong();
+
+          return exportChunks()
+              .doOnNext(
+                  user -> {
+                    rows.incrementAndGet();
+                    exportedRows.increment();
+                  })
+              .doFinally(
+                  signal -> {
+                    double seconds = (System.nanoTime() - startNanos) / 1_000_000_000d;
+                    log.info(
+                        "User export {}: {} rows in {}s ({} rows/s)",
+                        signal,
+                        rows.get(),
+                        String.format("%.1f", seconds),
+                        Math.round(rows.get() / Math.max(seconds, 0.001)));
+                  });
+        });
+  }
+
+  /**
+   * One walk down {@code idx_users_created_at_id}: each chunk resumes from the previous chunk's
+   * last row through the bounded keyset predicate. {@code expand} fetches the next chunk
+   * iteratively, so the operator chain does not grow with the number of chunks, and a prefetch of
+   * one keeps at most the next chunk buffered.
+   */
+  private Flux<User> exportChunks() {
+    return userRepository
+        .findPage(null, null, exportChunkSize)
+        .collectList()
+        .expand(
+            chunk -> {
+              if (chunk.size() < exportChunkSize) {
+                return Mono.empty();
+              }
+              UserCursor last = UserCursor.of(chunk.get(chunk.size() - 1));
+              return userRepository.findPage(null, last, exportChunkSize).collectList();
+            })
+        .concatMapIterable(Function.identity(), 1);
   }
 
   /** Update user profile. */
   @Transactional
   public Mono<User> updateProfile(UUID id, UpdateProfileRequest request) {
-    log.info("Updating profile for user: {}", id);
+    log.debug("Updating profile for user: {}", id);
 
     return userRepository
         .findById(id)
@@ -96,7 +246,8 @@ public class UserService {
               user.setUpdatedAt(LocalDateTime.now());
               return userRepository.save(user);
             })
-        .doOnSuccess(user -> log.info("Profile updated successfully: {}", user.getId()))
+        .flatMap(user -> userCache.invalidateAfterCompletion(id).thenReturn(user))
+        .doOnSuccess(user -> log.debug("Profile updated successfully: {}", user.getId()))
         .doOnError(error -> log.error("Profile update failed: {}", error.getMessage()));
   }
 
@@ -112,7 +263,8 @@ public class UserService {
             user ->
                 keycloakService
                     .deleteUser(user.getKeycloakId())
-                    .then(userRepository.deleteById(id)))
+                    .then(userRepository.deleteById(id))
+                    .then(userCache.invalidateAfterCompletion(id)))
         .doOnSuccess(v -> log.info("User deleted successfully: {}", id))
         .doOnError(error -> log.error("User deletion failed: {}", error.getMessage()));
   }
@@ -0,0 +1,195 @@
+package com.shikshaspace.userservice.throttle;
+
+import com.shikshaspace.userservice.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Adaptive (AIMD) concurrency limits for the auth flows, which are dominated by Keycloak calls.
+ *
+ * <p>Each flow has its own limit and latency target, since registration (saga, user creation and
+ * auto-login) is slow by design and must not shrink the limit for logins and refreshes. Flows
+ * beyond their current limit are rejected immediately with {@link ServiceUnavailableException}
+ * instead of queueing behind a slow Keycloak. Each completed flow is a latency sample: a timeout
+ * anywhere in the error's cause chain or a sample above the flow's target cuts its limit by {@code
+ * backoff-ratio}; otherwise, while the limit is actually being used, it grows by about one per
+ * round trip. Limits, in-flight counts and rejections are exported as {@code auth.concurrency.*}
+ * metrics tagged by {@code flow}.
+ */
+@Slf4j
+@Component
+public class AuthConcurrencyLimiter {
+
+  public static final String REGISTER = "register";
+  public static final String LOGIN = "login";
+  public static final String REFRESH = "refresh";
+  public static final String GOOGLE_SIGN_IN = "google_sign_in";
+
+  private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+  private final boolean enabled;
+  private final Map<String, FlowLimit> flows;
+
+  public AuthConcurrencyLimiter(
+      MeterRegistry meterRegistry,
+      @Value("${auth.concurrency.enabled:true}") boolean enabled,
+      @Value("${auth.concurrency.initial-limit:20}") int initialLimit,
+      @Value("${auth.concurrency.min-limit:4}") int minLimit,
+      @Value("${auth.concurrency.max-limit:200}") int maxLimit,
+      @Value("${auth.concurrency.backoff-ratio:0.9}") double backoffRatio,
+      @Value("${auth.concurrency.target-latency.register:3s}") Duration registerTarget,
+      @Value("${auth.concurrency.target-latency.login:1s}") Duration loginTarget,
+      @Value("${auth.concurrency.target-latency.refresh:1s}") Duration refreshTarget,
+      @Value("${auth.concurrency.target-latency.google-sign-in:2s}") Duration googleTarget) {
+    this.enabled = enabled;
+    Map<String, Duration> targets =
+        Map.of(
+            REGISTER, registerTarget,
+            LOGIN, loginTarget,
+            REFRESH, refreshTarget,
+            GOOGLE_SIGN_IN, googleTarget);
+    this.flows =
+        targets.entrySet().stream()
+            .collect(
+                Collectors.toUnmodifiableMap(
+                    Map.Entry::getKey,
+                    target ->
+                        new FlowLimit(
+                            target.getKey(),
+                            target.getValue().toNanos(),
+                            initialLimit,
+                            minLimit,
+                            maxLimit,
+                            backoffRatio,
+                            meterRegistry)));
+  }
+
+  /** Run an auth flow if its limit allows, otherwise fail fast. */
+  public <T> Mono<T> execute(String flow, Supplier<Mono<T>> call) {
+    if (!enabled) {
+      return Mono.defer(call);
+    }
+    FlowLimit flowLimit = flows.get(flow);
+    if (flowLimit == null) {
+      throw new IllegalArgumentException("Unknown auth flow: " + flow);
+    }
+    return flowLimit.execute(call);
+  }
+
+  /** Whether {@code error} or any of its causes is a timeout. */
+  static boolean isTimeout(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof TimeoutException
+          || cause instanceof io.netty.handler.timeout.TimeoutException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** AIMD state of one flow. */
+  private static final class FlowLimit {
+
+    private final String flow;
+    private final long targetLatencyNanos;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+    private volatile double limit;
+
+    FlowLimit(
+        String flow,
+        long targetLatencyNanos,
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        double backoffRatio,
+        MeterRegistry meterRegistry) {
+      this.flow = flow;
+      this.targetLatencyNanos = targetLatencyNanos;
+      this.minLimit = minLimit;
+      this.maxLimit = maxLimit;
+      this.backoffRatio = backoffRatio;
+      this.limit = initialLimit;
+
+      Gauge.builder("auth.concurrency.limit", this, limiter -> limiter.limit)
+          .description("Current adaptive concurrency limit for an auth flow")
+          .tag("flow", flow)
+          .register(meterRegistry);
+      Gauge.builder("auth.concurrency.inflight", inFlight, AtomicInteger::get)
+          .description("Auth flows currently in flight")
+          .tag("flow", flow)
+          .register(meterRegistry);
+      this.rejected =
+          Counter.builder("auth.concurrency.rejected")
+              .description("Auth flows rejected by the concurrency limit")
+              .tag("flow", flow)
+              .register(meterRegistry);
+    }
+
+    <T> Mono<T> execute(Supplier<Mono<T>> call) {
+      return Mono.defer(
+          () -> {
+            if (!tryAcquire()) {
+              rejected.increment();
+              return Mono.error(
+                  new ServiceUnavailableException(
+                      "Authentication is overloaded, please retry shortly", RETRY_AFTER));
+            }
+            long startNanos = System.nanoTime();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            // Deferred so a supplier that throws still releases the permit below
+            return Mono.defer(call)
+                .doOnError(failure::set)
+                .doFinally(
+                    signal -> {
+                      inFlight.decrementAndGet();
+                      if (signal != SignalType.ON_ERROR && signal != SignalType.ON_COMPLETE) {
+                        return;
+                      }
+                      onSample(System.nanoTime() - startNanos, failure.get());
+                    });
+          });
+    }
+
+    private boolean tryAcquire() {
+      while (true) {
+        int current = inFlight.get();
+        if (current >= (int) limit) {
+          return false;
+        }
+        if (inFlight.compareAndSet(current, current + 1)) {
+          return true;
+        }
+      }
+    }
+
+    private synchronized void onSample(long latencyNanos, Throwable failure) {
+      boolean overloaded = isTimeout(failure) || latencyNanos > targetLatencyNanos;
+      if (overloaded) {
+        double reduced = Math.max(minLimit, limit * backoffRatio);
+        if ((int) reduced < (int) limit) {
+          log.warn("⚠️ Auth concurrency limit for {} reduced to {}", flow, (int) reduced);
+        }
+        limit = reduced;
+      } else if (inFlight.get() + 1 >= limit / 2) {
+        limit = Math.min(maxLimit, limit + 1 / limit);
+      }
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package com.shikshaspace.userservice.throttle;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory throttling for the public auth endpoints. Sheds credential-stuffing and registration
+ * bursts per client IP before any Keycloak work is done.
+ *
+ * <p>Password guessing against one account is limited by counting only <em>failed</em> logins, per
+ * username and client IP. Counting every attempt per username would let anyone lock a known user
+ * out with a handful of requests; keying failures on the client IP as well keeps the lockout on the
+ * guessing client instead of the account owner.
+ *
+ * <p>The client IP is the connection's remote address; behind a proxy set {@code
+ * server.forward-headers-strategy} so it reflects {@code X-Forwarded-For}.
+ */
+@Slf4j
+@Component
+public class AuthThrottle {
+
+  private final boolean enabled;
+  private final SlidingWindowRateLimiter loginsPerIp;
+  private final SlidingWindowRateLimiter loginFailures;
+  private final SlidingWindowRateLimiter registrationsPerIp;
+  private final MeterRegistry meterRegistry;
+
+  public AuthThrottle(
+      MeterRegistry meterRegistry,
+      @Value("${auth.throttle.enabled:true}") boolean enabled,
+      @Value("${auth.throttle.window:1m}") Duration window,
+      @Value("${auth.throttle.login-per-ip:50}") int loginPerIp,
+      @Value("${auth.throttle.login-failures-per-username:10}") int loginFailuresPerUsername,
+      @Value("${auth.throttle.register-per-ip:10}") int registerPerIp,
+      @Value("${auth.throttle.max-keys:100000}") long maxKeys) {
+    this.meterRegistry = meterRegistry;
+    this.enabled = enabled;
+    this.loginsPerIp = new SlidingWindowRateLimiter(loginPerIp, window, maxKeys);
+    this.loginFailures = new SlidingWindowRateLimiter(loginFailuresPerUsername, window, maxKeys);
+    this.registrationsPerIp = new SlidingWindowRateLimiter(registerPerIp, window, maxKeys);
+
+    registerSizeGauge("login_ip", loginsPerIp);
+    registerSizeGauge("login_failures", loginFailures);
+    registerSizeGauge("register_ip", registrationsPerIp);
+    log.info("Auth throttling enabled={} (window={})", enabled, window);
+  }
+
+  /**
+   * Check a login attempt.
+   *
+   * @return {@link Duration#ZERO} if allowed, otherwise the Retry-After delay
+   */
+  public Duration checkLogin(ServerHttpRequest request, String username) {
+    if (!enabled) {
+      return Duration.ZERO;
+    }
+    Duration retryAfter = loginsPerIp.tryAcquire(clientIp(request));
+    if (!retryAfter.isZero()) {
+      return rejected("login", "ip", retryAfter);
+    }
+    retryAfter = loginFailures.peek(failureKey(request, username));
+    if (!retryAfter.isZero()) {
+      return rejected("login", "username", retryAfter);
+    }
+    return allowed("login");
+  }
+
+  /** Count a login rejected for bad credentials against this username and client. */
+  public void recordLoginFailure(ServerHttpRequest request, String username) {
+    if (enabled) {
+      loginFailures.record(failureKey(request, username));
+    }
+  }
+
+  /**
+   * Check a registration attempt.
+   *
+   * @return {@link Duration#ZERO} if allowed, otherwise the Retry-After delay
+   */
+  public Duration checkRegister(ServerHttpRequest request) {
+    if (!enabled) {
+      return Duration.ZERO;
+    }
+    Duration retryAfter = registrationsPerIp.tryAcquire(clientIp(request));
+    if (!retryAfter.isZero()) {
+      return rejected("register", "ip", retryAfter);
+    }
+    return allowed("register");
+  }
+
+  private Duration allowed(String endpoint) {
+    meterRegistry
+        .counter("auth.throttle.requests", "endpoint", endpoint, "result", "allowed")
+        .increment();
+    return Duration.ZERO;
+  }
+
+  private Duration rejected(String endpoint, String key, Duration retryAfter) {
+    meterRegistry
+        .counter("auth.throttle.requests", "endpoint", endpoint, "result", "rejected_" + key)
+        .increment();
+    return retryAfter;
+  }
+
+  private void registerSizeGauge(String limiter, SlidingWindowRateLimiter rateLimiter) {
+    Gauge.builder("auth.throttle.keys", rateLimiter, SlidingWindowRateLimiter::size)
+        .description("Keys currently tracked by the auth throttle")
+        .tag("limiter", limiter)
+        .register(meterRegistry);
+  }
+
+  private static String clientIp(ServerHttpRequest request) {
+    InetSocketAddress remoteAddress = request.getRemoteAddress();
+    if (remoteAddress == null || remoteAddress.getAddress() == null) {
+      return "unknown";
+    }
+    return remoteAddress.getAddress().getHostAddress();
+  }
+
+  private static String failureKey(ServerHttpRequest request, String username) {
+    return normalize(username) + "|" + clientIp(request);
+  }
+
+  private static String normalize(String username) {
+    return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,108 @@
+package com.shikshaspace.userservice.throttle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keyed sliding-window rate limiter.
+ *
+ * <p>Uses the two-bucket approximation: the estimate is the current fixed window's count plus the
+ * previous window's count weighted by how much of it still overlaps the sliding window. Each key's
+ * state is an immutable snapshot swapped with CAS, so the hot path takes no locks. Keys live in a
+ * size-bounded Caffeine map and expire once idle for two windows, bounding memory under
+ * high-cardinality (e.g. spoofed) keys.
+ */
+public class SlidingWindowRateLimiter {
+
+  private final int limit;
+  private final long windowNanos;
+  private final Cache<String, AtomicReference<WindowState>> windows;
+
+  public SlidingWindowRateLimiter(int limit, Duration window, long maxKeys) {
+    this.limit = limit;
+    this.windowNanos = window.toNanos();
+    this.windows =
+        Caffeine.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterAccess(window.multipliedBy(2))
+            .build();
+  }
+
+  /**
+   * Record one attempt for {@code key}.
+   *
+   * @return {@link Duration#ZERO} if allowed, otherwise how long until an attempt would be allowed
+   */
+  public Duration tryAcquire(String key) {
+    return acquire(key, true, true);
+  }
+
+  /**
+   * How long until {@code key} would be allowed another attempt, without recording one.
+   *
+   * @return {@link Duration#ZERO} if an attempt would be allowed now
+   */
+  public Duration peek(String key) {
+    return acquire(key, true, false);
+  }
+
+  /** Record one attempt for {@code key} regardless of the limit. */
+  public void record(String key) {
+    acquire(key, false, true);
+  }
+
+  private Duration acquire(String key, boolean enforce, boolean count) {
+    AtomicReference<WindowState> ref =
+        windows.get(key, k -> new AtomicReference<>(new WindowState(0, 0, 0)));
+    // nanoTime may be negative: floor so windows stay contiguous and elapsed stays in [0, 1)
+    long now = System.nanoTime();
+    long windowIndex = Math.floorDiv(now, windowNanos);
+    double elapsed = (double) Math.floorMod(now, windowNanos) / windowNanos;
+
+    while (true) {
+      WindowState state = ref.get();
+      WindowState rolled = state.rollTo(windowIndex);
+      double estimate = rolled.previous() * (1 - elapsed) + rolled.current();
+
+      if (enforce && estimate >= limit) {
+        ref.compareAndSet(state, rolled);
+        return retryAfter(rolled, elapsed);
+      }
+      if (ref.compareAndSet(state, count ? rolled.increment() : rolled)) {
+        return Duration.ZERO;
+      }
+    }
+  }
+
+  /** Number of keys currently tracked. */
+  public long size() {
+    return windows.estimatedSize();
+  }
+
+  /** Time until the weighted previous-window share has decayed enough to admit one attempt. */
+  private Duration retryAfter(WindowState state, double elapsed) {
+    if (state.current() >= limit || state.previous() == 0) {
+      return Duration.ofNanos(Math.round((1 - elapsed) * windowNanos));
+    }
+    double neededElapsed = 1 - (double) (limit - state.current() - 1) / state.previous();
+    double wait = Math.max(neededElapsed - elapsed, 0) * windowNanos;
+    return Duration.ofNanos(Math.max(Math.round(wait), 1_000_000L));
+  }
+
+  private record WindowState(long windowIndex, int previous, int current) {
+
+    WindowState rollTo(long index) {
+      if (index == windowIndex) {
+        return this;
+      }
+      int carried = index == windowIndex + 1 ? current : 0;
+      return new WindowState(index, carried, 0);
+    }
+
+    WindowState increment() {
+      return new WindowState(windowIndex, previous, current + 1);
+    }
+  }
+}
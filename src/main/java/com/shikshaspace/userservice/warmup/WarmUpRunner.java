@@ -0,0 +1,204 @@
+package com.shikshaspace.userservice.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shikshaspace.userservice.domain.User;
+import com.shikshaspace.userservice.dto.request.LoginRequest;
+import com.shikshaspace.userservice.dto.request.RegisterRequest;
+import com.shikshaspace.userservice.dto.request.UpdateProfileRequest;
+import com.shikshaspace.userservice.dto.response.AuthResponse;
+import com.shikshaspace.userservice.dto.response.UserResponse;
+import com.shikshaspace.userservice.mapper.UserMapper;
+import com.shikshaspace.userservice.repository.UserRepository;
+import com.shikshaspace.userservice.service.KeycloakService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ValidationDepth;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Warms the pod up before it reports ready. Spring Boot only marks the application ready to accept
+ * traffic after all runners have finished, so the readiness probe stays DOWN while this runs. Steps
+ * run in parallel, each is timed ({@code app.warmup} timer, log line per step) and a failing step
+ * is logged and skipped rather than failing startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpRunner implements ApplicationRunner {
+
+  private final ReactiveJwtDecoder jwtDecoder;
+  private final ConnectionFactory connectionFactory;
+  private final UserRepository userRepository;
+  private final KeycloakService keycloakService;
+  private final ObjectMapper objectMapper;
+  private final UserMapper userMapper;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${warmup.timeout:30s}")
+  private Duration timeout;
+
+  @Value("${warmup.iterations:200}")
+  private int iterations;
+
+  @Value("${spring.r2dbc.pool.initial-size:10}")
+  private int poolSize;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    log.info("🔵 Warming up before accepting traffic (timeout={})", timeout);
+    long startNanos = System.nanoTime();
+
+    Map<String, Supplier<Mono<?>>> steps = new LinkedHashMap<>();
+    steps.put("jwks", this::prefetchJwks);
+    steps.put("connection_pool", this::fillConnectionPool);
+    steps.put("repository", () -> userRepository.findByUsername("__warmup__"));
+    steps.put("keycloak_admin_token", keycloakService::warmUp);
+    steps.put("serialization", () -> Mono.fromRunnable(this::exerciseSerialization));
+
+    Flux.fromIterable(steps.entrySet())
+        .flatMap(step -> timed(step.getKey(), step.getValue()))
+        .then()
+        .timeout(timeout)
+        .onErrorResume(
+            error -> {
+              log.warn("⚠️ Warm-up did not finish within {}: {}", timeout, error.getMessage());
+              return Mono.empty();
+            })
+        .block();
+
+    log.info("✅ Warm-up finished in {} ms", (System.nanoTime() - startNanos) / 1_000_000);
+  }
+
+  /**
+   * Decode a well-formed but unsigned token. Verification fails with {@link BadJwtException}, but
+   * only after the decoder has fetched and cached the realm's signing keys. Any other error means
+   * the keys could not be fetched, so the step fails and is logged and timed as an error.
+   */
+  private Mono<?> prefetchJwks() {
+    Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    String token =
+        encoder.encodeToString("{\"alg\":\"RS256\"}".getBytes(StandardCharsets.UTF_8))
+            + "."
+            + encoder.encodeToString("{\"sub\":\"warmup\"}".getBytes(StandardCharsets.UTF_8))
+            + ".AA";
+    return jwtDecoder
+        .decode(token)
+        .then()
+        .onErrorResume(BadJwtException.class, rejected -> Mono.empty());
+  }
+
+  /** Open the pool's initial connections concurrently and round-trip each one. */
+  private Mono<?> fillConnectionPool() {
+    return Flux.range(0, poolSize)
+        .flatMap(
+            i ->
+                Mono.usingWhen(
+                    connectionFactory.create(),
+                    connection -> Mono.from(connection.validate(ValidationDepth.REMOTE)),
+                    Connection::close),
+            poolSize)
+        .then();
+  }
+
+  /** Run the JSON codecs and MapStruct mappers used on every request. */
+  private void exerciseSerialization() {
+    User user =
+        User.builder()
+            .id(UUID.randomUUID())
+            .keycloakId(UUID.randomUUID())
+            .username("warmup")
+            .email("warmup@example.com")
+            .firstName("Warm")
+            .lastName("Up")
+            .emailVerified(false)
+            .isActive(true)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+    UpdateProfileRequest update = UpdateProfileRequest.builder().bio("warm-up").age(30).build();
+    LoginRequest login = new LoginRequest("warmup", "password");
+    RegisterRequest register =
+        RegisterRequest.builder()
+            .username("warmup")
+            .email("warmup@example.com")
+            .password("password")
+            .firstName("Warm")
+            .lastName("Up")
+            .build();
+    AuthResponse auth =
+        AuthResponse.builder()
+            .token("token")
+            .refreshToken("refresh")
+            .expiresIn(300L)
+            .userId(user.getId())
+            .username(user.getUsername())
+            .email(user.getEmail())
+            .build();
+
+    try {
+      for (int i = 0; i < iterations; i++) {
+        UserResponse response = userMapper.toResponse(user);
+        userMapper.updateEntity(update, user);
+        objectMapper.readValue(objectMapper.writeValueAsBytes(response), UserResponse.class);
+        objectMapper.readValue(objectMapper.writeValueAsBytes(auth), AuthResponse.class);
+        objectMapper.readValue(objectMapper.writeValueAsBytes(login), LoginRequest.class);
+        objectMapper.readValue(objectMapper.writeValueAsBytes(register), RegisterRequest.class);
+      }
+    } catch (Exception e) {
+      throw new IllegalStateException("Serialization warm-up failed", e);
+    }
+  }
+
+  private Mono<Void> timed(String step, Supplier<Mono<?>> action) {
+    return Mono.defer(
+        () -> {
+          Timer.Sample sample = Timer.start(meterRegistry);
+          long startNanos = System.nanoTime();
+          return Mono.defer(action)
+              .then(Mono.fromRunnable(() -> finished(step, sample, startNanos, "success", null)))
+              .onErrorResume(
+                  error -> {
+                    finished(step, sample, startNanos, "error", error);
+                    return Mono.empty();
+                  })
+              .then();
+        });
+  }
+
+  private void finished(
+      String step, Timer.Sample sample, long startNanos, String outcome, Throwable error) {
+    sample.stop(
+        Timer.builder("app.warmup")
+            .description("Duration of each startup warm-up step")
+            .tag("step", step)
+            .tag("outcome", outcome)
+            .register(meterRegistry));
+    long millis = (System.nanoTime() - startNanos) / 1_000_000;
+    if (error == null) {
+      log.info("Warm-up step '{}' done in {} ms", step, millis);
+    } else {
+      log.warn("⚠️ Warm-up step '{}' failed after {} ms: {}", step, millis, error.getMessage());
+    }
+  }
+}
@@ -0,0 +1,27 @@
+-- ============================================
+-- USER SERVICE - SCHEMA MIGRATION V2
+-- Change notifications for cross-instance cache invalidation
+-- ============================================
+
+-- Emit the id of every updated or deleted user on the users_changed channel.
+-- Replicas LISTEN on this channel and drop the user from their local cache.
+CREATE OR REPLACE FUNCTION notify_users_changed()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('users_changed', COALESCE(NEW.id, OLD.id)::text);
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+-- Create trigger (drop first if exists)
+DROP TRIGGER IF EXISTS notify_users_changed ON users;
+CREATE TRIGGER notify_users_changed
+    AFTER UPDATE OR DELETE ON users
+    FOR EACH ROW
+    EXECUTE FUNCTION notify_users_changed();
+
+-- Log success
+DO $$
+BEGIN
+    RAISE NOTICE '✅ users_changed notification trigger created successfully';
+END $$;
@@ -0,0 +1,22 @@
+-- ============================================
+-- USER SERVICE - SCHEMA MIGRATION V3
+-- Indexes for keyset-paginated admin listing
+-- ============================================
+
+-- Keyset order used by the admin listing: (created_at, id) newest first
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users(created_at DESC, id DESC);
+
+-- Filtered listings keep the keyset order inside each filter value
+CREATE INDEX IF NOT EXISTS idx_users_active_created_at_id
+    ON users(is_active, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_users_email_verified_created_at_id
+    ON users(email_verified, created_at DESC, id DESC);
+
+-- Superseded by idx_users_active_created_at_id (same leading column)
+DROP INDEX IF EXISTS idx_users_is_active;
+
+-- Log success
+DO $$
+BEGIN
+    RAISE NOTICE '✅ User listing indexes created successfully';
+END $$;
@@ -0,0 +1,46 @@
+-- ============================================
+-- USER SERVICE - SCHEMA MIGRATION V4
+-- Outbox table for the registration saga
+-- ============================================
+
+-- One row per registration attempt. The request path moves it through
+-- PENDING -> KEYCLOAK_CREATED -> COMPLETED; the background relay picks up
+-- rows left behind by failures and compensates them.
+CREATE TABLE IF NOT EXISTS registration_saga (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    username VARCHAR(100) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(100),
+    last_name VARCHAR(100),
+    email_verified BOOLEAN DEFAULT FALSE,
+    keycloak_id UUID,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT,
+    next_attempt_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- At most one open saga per username
+CREATE UNIQUE INDEX IF NOT EXISTS uq_registration_saga_open_username
+    ON registration_saga(username)
+    WHERE status IN ('PENDING', 'KEYCLOAK_CREATED', 'COMPENSATING');
+
+-- Relay polling: open sagas ordered by due time
+CREATE INDEX IF NOT EXISTS idx_registration_saga_due
+    ON registration_saga(next_attempt_at)
+    WHERE status IN ('PENDING', 'KEYCLOAK_CREATED', 'COMPENSATING');
+
+-- Create trigger (drop first if exists)
+DROP TRIGGER IF EXISTS update_registration_saga_updated_at ON registration_saga;
+CREATE TRIGGER update_registration_saga_updated_at
+    BEFORE UPDATE ON registration_saga
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
+
+-- Log success
+DO $$
+BEGIN
+    RAISE NOTICE '✅ Registration saga table created successfully';
+END $$;
@@ -0,0 +1,19 @@
+-- ============================================
+-- USER SERVICE - SCHEMA MIGRATION V5
+-- Optimistic locking and retention for the registration saga
+-- ============================================
+
+-- Row version checked by every saga UPDATE, so the request path and the
+-- relay cannot overwrite each other's status
+ALTER TABLE registration_saga ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Relay retention: terminal sagas ordered by age
+CREATE INDEX IF NOT EXISTS idx_registration_saga_terminal_updated_at
+    ON registration_saga(updated_at)
+    WHERE status IN ('COMPLETED', 'COMPENSATED', 'FAILED');
+
+-- Log success
+DO $$
+BEGIN
+    RAISE NOTICE '✅ Registration saga version column created successfully';
+END $$;
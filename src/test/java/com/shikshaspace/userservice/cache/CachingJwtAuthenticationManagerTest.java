@@ -0,0 +1,114 @@
+package com.shikshaspace.userservice.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class CachingJwtAuthenticationManagerTest {
+
+  private static final String TOKEN = "header.payload.signature";
+
+  private final AtomicInteger decodes = new AtomicInteger();
+  private final Queue<Mono<Authentication>> scripted = new ConcurrentLinkedQueue<>();
+  private volatile Instant expiresAt = Instant.now().plus(Duration.ofMinutes(5));
+
+  private final CachingJwtAuthenticationManager manager =
+      new CachingJwtAuthenticationManager(
+          authentication -> {
+            decodes.incrementAndGet();
+            Mono<Authentication> reply = scripted.poll();
+            return reply != null ? reply : Mono.just(verified(expiresAt));
+          },
+          new SimpleMeterRegistry(),
+          100,
+          Duration.ofMinutes(10));
+
+  @Test
+  void cachedAuthenticationIsNotServedAtOrAfterExp() throws InterruptedException {
+    expiresAt = Instant.now().plusMillis(300);
+
+    authenticate();
+    authenticate();
+    assertThat(decodes).hasValue(1);
+
+    Thread.sleep(Math.max(Duration.between(Instant.now(), expiresAt).toMillis(), 0) + 1);
+    expiresAt = Instant.now().plus(Duration.ofMinutes(5));
+    assertThat(authenticate().getToken().getExpiresAt()).isEqualTo(expiresAt);
+    assertThat(decodes).hasValue(2);
+  }
+
+  @Test
+  void decodeAndValidationFailuresAreNotCached() {
+    List<RuntimeException> failures =
+        List.of(
+            new BadJwtException("Malformed token"),
+            new JwtValidationException("Jwt expired", List.of(new OAuth2Error("invalid_token"))));
+
+    for (RuntimeException failure : failures) {
+      scripted.add(Mono.error(failure));
+      Throwable error =
+          manager
+              .authenticate(new BearerTokenAuthenticationToken(TOKEN))
+              .then(Mono.<Throwable>empty())
+              .onErrorResume(Mono::just)
+              .block();
+      assertThat(error).isSameAs(failure);
+    }
+
+    authenticate();
+    authenticate();
+    assertThat(decodes).hasValue(3);
+  }
+
+  @Test
+  void concurrentRequestsForSameTokenDecodeOnce() {
+    Sinks.One<Authentication> result = Sinks.one();
+    scripted.add(result.asMono());
+    AtomicInteger received = new AtomicInteger();
+
+    manager
+        .authenticate(new BearerTokenAuthenticationToken(TOKEN))
+        .subscribe(authentication -> received.incrementAndGet());
+    manager
+        .authenticate(new BearerTokenAuthenticationToken(TOKEN))
+        .subscribe(authentication -> received.incrementAndGet());
+    result.tryEmitValue(verified(expiresAt));
+
+    assertThat(decodes).hasValue(1);
+    assertThat(received).hasValue(2);
+    authenticate();
+    assertThat(decodes).hasValue(1);
+  }
+
+  private JwtAuthenticationToken authenticate() {
+    return (JwtAuthenticationToken)
+        manager.authenticate(new BearerTokenAuthenticationToken(TOKEN)).block();
+  }
+
+  private static JwtAuthenticationToken verified(Instant expiresAt) {
+    Jwt jwt =
+        Jwt.withTokenValue(TOKEN)
+            .header("alg", "RS256")
+            .subject("asha")
+            .issuedAt(Instant.now())
+            .expiresAt(expiresAt)
+            .build();
+    return new JwtAuthenticationToken(jwt);
+  }
+}
@@ -0,0 +1,92 @@
+package com.shikshaspace.userservice.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class SingleFlightTest {
+
+  private final SingleFlight<String, String> singleFlight =
+      new SingleFlight<>("test", new SimpleMeterRegistry());
+
+  @Test
+  void concurrentCallersShareOneLoad() {
+    Sinks.One<String> result = Sinks.one();
+    AtomicInteger loads = new AtomicInteger();
+
+    Mono<String> first = singleFlight.execute("key", () -> load(loads, result));
+    Mono<String> second = singleFlight.execute("key", () -> load(loads, result));
+    AtomicInteger received = new AtomicInteger();
+    first.subscribe(value -> received.incrementAndGet());
+    second.subscribe(value -> received.incrementAndGet());
+    result.tryEmitValue("user");
+
+    assertThat(loads).hasValue(1);
+    assertThat(received).hasValue(2);
+  }
+
+  @Test
+  void loadSurvivesWhileAnyCallerIsWaiting() {
+    Sinks.One<String> result = Sinks.one();
+    AtomicBoolean cancelled = new AtomicBoolean();
+
+    Disposable first =
+        singleFlight
+            .execute("key", () -> result.asMono().doOnCancel(() -> cancelled.set(true)))
+            .subscribe();
+    AtomicInteger received = new AtomicInteger();
+    singleFlight.execute("key", Mono::never).subscribe(value -> received.incrementAndGet());
+
+    first.dispose();
+    assertThat(cancelled).isFalse();
+
+    result.tryEmitValue("user");
+    assertThat(received).hasValue(1);
+  }
+
+  @Test
+  void loadIsCancelledOnceEveryCallerHasCancelled() {
+    AtomicBoolean cancelled = new AtomicBoolean();
+
+    Disposable first =
+        singleFlight
+            .execute("key", () -> Mono.<String>never().doOnCancel(() -> cancelled.set(true)))
+            .subscribe();
+    Disposable second = singleFlight.execute("key", Mono::never).subscribe();
+
+    first.dispose();
+    second.dispose();
+
+    assertThat(cancelled).isTrue();
+  }
+
+  @Test
+  void failedLoadIsNotReusedByLaterCalls() {
+    AtomicInteger loads = new AtomicInteger();
+
+    singleFlight
+        .execute("key", () -> Mono.error(new IllegalStateException("down")))
+        .onErrorResume(error -> Mono.empty())
+        .block();
+    String value =
+        singleFlight
+            .execute("key", () -> Mono.fromCallable(() -> "user" + loads.incrementAndGet()))
+            .block();
+
+    assertThat(value).isEqualTo("user1");
+  }
+
+  private static Mono<String> load(AtomicInteger loads, Sinks.One<String> result) {
+    return Mono.defer(
+        () -> {
+          loads.incrementAndGet();
+          return result.asMono();
+        });
+  }
+}
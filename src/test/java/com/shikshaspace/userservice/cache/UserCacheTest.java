@@ -0,0 +1,78 @@
+package com.shikshaspace.userservice.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shikshaspace.userservice.domain.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class UserCacheTest {
+
+  private final UserCache userCache =
+      new UserCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(5));
+
+  @Test
+  void missIsLoadedOnceAndCached() {
+    User user = user("alice");
+    AtomicInteger loads = new AtomicInteger();
+
+    userCache.findById(user.getId(), () -> countedLoad(loads, user)).block();
+    User cached = userCache.findByUsername("alice", () -> countedLoad(loads, user)).block();
+
+    assertThat(cached).isSameAs(user);
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void loadStartedBeforeInvalidationIsNotCachedForLateJoiner() {
+    User stale = user("alice");
+    Sinks.One<User> staleRead = Sinks.one();
+
+    // A read starts, then the row is updated and invalidated while it is still in flight
+    userCache.findById(stale.getId(), staleRead::asMono).subscribe();
+    userCache.invalidate(stale.getId());
+
+    // A caller missing after the invalidation joins the in-flight read
+    userCache.findById(stale.getId(), Mono::never).subscribe();
+    staleRead.tryEmitValue(stale);
+
+    AtomicInteger loads = new AtomicInteger();
+    userCache.findById(stale.getId(), () -> countedLoad(loads, stale)).block();
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void invalidateDropsEverySecondaryKey() {
+    User user = user("alice");
+    userCache.findById(user.getId(), () -> Mono.just(user)).block();
+
+    userCache.invalidate(user.getId());
+
+    AtomicInteger loads = new AtomicInteger();
+    userCache.findByEmail(user.getEmail(), () -> countedLoad(loads, user)).block();
+    userCache.findByKeycloakId(user.getKeycloakId(), () -> countedLoad(loads, user)).block();
+    assertThat(loads).hasValue(1);
+  }
+
+  private static Mono<User> countedLoad(AtomicInteger loads, User user) {
+    return Mono.fromCallable(
+        () -> {
+          loads.incrementAndGet();
+          return user;
+        });
+  }
+
+  private static User user(String username) {
+    return User.builder()
+        .id(UUID.randomUUID())
+        .keycloakId(UUID.randomUUID())
+        .username(username)
+        .email(username + "@example.com")
+        .build();
+  }
+}
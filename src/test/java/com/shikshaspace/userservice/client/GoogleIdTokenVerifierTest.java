@@ -0,0 +1,121 @@
+package com.shikshaspace.userservice.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+/** Verifies ID tokens against the local key-set fixture in {@code google/jwks.json}. */
+class GoogleIdTokenVerifierTest {
+
+  private static final String CLIENT_ID = "test-client.apps.googleusercontent.com";
+
+  private static RSAKey signingKey;
+
+  private final GoogleIdTokenVerifier verifier =
+      new GoogleIdTokenVerifier(WebClient.create(), "classpath:google/jwks.json", CLIENT_ID);
+
+  @BeforeAll
+  static void loadSigningKey() throws Exception {
+    signingKey =
+        JWK.parse(
+                new ClassPathResource("google/signing-key.json")
+                    .getContentAsString(StandardCharsets.UTF_8))
+            .toRSAKey();
+  }
+
+  @Test
+  void acceptsValidToken() {
+    StepVerifier.create(verifier.verify(token(signingKey, claims -> {})))
+        .assertNext(
+            claims -> {
+              assertThat(claims).containsEntry("email", "user@example.com");
+              assertThat(claims).containsEntry("email_verified", true);
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void rejectsWrongIssuer() {
+    assertRejected(token(signingKey, claims -> claims.issuer("https://evil.example.com")));
+  }
+
+  @Test
+  void rejectsWrongAudience() {
+    assertRejected(token(signingKey, claims -> claims.audience("other-client")));
+  }
+
+  @Test
+  void rejectsExpiredToken() {
+    Instant past = Instant.now().minus(Duration.ofHours(2));
+    assertRejected(
+        token(
+            signingKey,
+            claims ->
+                claims
+                    .issueTime(Date.from(past))
+                    .expirationTime(Date.from(past.plusSeconds(3600)))));
+  }
+
+  @Test
+  void rejectsUnverifiedEmail() {
+    assertRejected(token(signingKey, claims -> claims.claim("email_verified", false)));
+  }
+
+  @Test
+  void rejectsUnknownKeyId() throws Exception {
+    RSAKey rotated = new RSAKeyGenerator(2048).keyID("rotated-key").generate();
+    assertRejected(token(rotated, claims -> {}));
+  }
+
+  private void assertRejected(String token) {
+    StepVerifier.create(verifier.verify(token)).expectError(JwtException.class).verify();
+  }
+
+  private static String token(RSAKey key, Consumer<JWTClaimsSet.Builder> customizer) {
+    Instant now = Instant.now();
+    JWTClaimsSet.Builder claims =
+        new JWTClaimsSet.Builder()
+            .issuer("https://accounts.google.com")
+            .audience(CLIENT_ID)
+            .subject("1234567890")
+            .issueTime(Date.from(now))
+            .expirationTime(Date.from(now.plus(Duration.ofHours(1))))
+            .claim("email", "user@example.com")
+            .claim("email_verified", true)
+            .claim("given_name", "Test")
+            .claim("family_name", "User");
+    customizer.accept(claims);
+    try {
+      SignedJWT jwt =
+          new SignedJWT(
+              new JWSHeader.Builder(JWSAlgorithm.RS256)
+                  .keyID(key.getKeyID())
+                  .type(JOSEObjectType.JWT)
+                  .build(),
+              claims.build());
+      jwt.sign(new RSASSASigner(key));
+      return jwt.serialize();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,273 @@
+package com.shikshaspace.userservice.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.shikshaspace.userservice.config.ResilienceConfig;
+import com.shikshaspace.userservice.dto.response.TokenResponse;
+import com.shikshaspace.userservice.exception.GlobalExceptionHandler;
+import com.shikshaspace.userservice.exception.ServiceUnavailableException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/** Runs the token client against a local stub token endpoint with scripted latency and failures. */
+class KeycloakTokenClientTest {
+
+  private static final String TOKEN_PATH = "/realms/test/protocol/openid-connect/token";
+  private static final Duration OPEN_DURATION = Duration.ofMillis(300);
+  // Warm-up requests, including late hedges, never consume scripted responses
+  private static final String WARM_UP_TOKEN = "warm-up";
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final Queue<StubResponse> scripted = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger requests = new AtomicInteger();
+  private volatile StubResponse fallback = StubResponse.token("access", Duration.ZERO);
+  private DisposableServer tokenEndpoint;
+  private CircuitBreaker circuitBreaker;
+
+  @BeforeEach
+  void setUp() {
+    tokenEndpoint =
+        HttpServer.create()
+            .host("127.0.0.1")
+            .port(0)
+            .route(
+                routes ->
+                    routes.post(
+                        TOKEN_PATH,
+                        (request, response) ->
+                            request
+                                .receive()
+                                .aggregate()
+                                .asString()
+                                .flatMap(
+                                    form -> {
+                                      requests.incrementAndGet();
+                                      StubResponse reply = reply(form);
+                                      return Mono.delay(reply.delay())
+                                          .then(
+                                              Mono.from(
+                                                  response
+                                                      .status(reply.status())
+                                                      .header(
+                                                          HttpHeaders.CONTENT_TYPE,
+                                                          "application/json")
+                                                      .sendString(Mono.just(reply.body()))));
+                                    })))
+            .bindNow();
+
+    ResilienceConfig config = new ResilienceConfig();
+    ReflectionTestUtils.setField(config, "failureRateThreshold", 50f);
+    ReflectionTestUtils.setField(config, "slowCallThreshold", Duration.ofSeconds(5));
+    ReflectionTestUtils.setField(config, "slidingWindowSize", 4);
+    ReflectionTestUtils.setField(config, "minimumCalls", 4);
+    ReflectionTestUtils.setField(config, "openDuration", OPEN_DURATION);
+    ReflectionTestUtils.setField(config, "halfOpenCalls", 2);
+    circuitBreaker =
+        config.keycloakTokenCircuitBreaker(config.circuitBreakerRegistry(meterRegistry));
+  }
+
+  @AfterEach
+  void tearDown() {
+    tokenEndpoint.disposeNow();
+  }
+
+  @Test
+  void serverErrorsOpenBreakerWhichFailsFastWith503AndRetryAfter() {
+    KeycloakTokenClient client = client(false);
+    fallback = StubResponse.error(500, "server_error", Duration.ZERO);
+
+    for (int i = 0; i < 4; i++) {
+      assertThatThrownBy(() -> client.refreshGrant("refresh").block())
+          .isInstanceOf(WebClientResponseException.InternalServerError.class);
+    }
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+    Throwable rejected = catchError(client.refreshGrant("refresh"));
+    assertThat(rejected).isInstanceOf(ServiceUnavailableException.class);
+    assertThat(requests).hasValue(4);
+
+    ResponseEntity<Map<String, Object>> response =
+        new GlobalExceptionHandler()
+            .handleServiceUnavailable((ServiceUnavailableException) rejected)
+            .block();
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+  }
+
+  @Test
+  void clientErrorsDoNotOpenBreaker() {
+    KeycloakTokenClient client = client(false);
+    fallback = StubResponse.error(400, "invalid_grant", Duration.ZERO);
+
+    for (int i = 0; i < 6; i++) {
+      assertThat(KeycloakTokenClient.isInvalidGrant(catchError(client.refreshGrant("stale"))))
+          .isTrue();
+    }
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void halfOpenProbesCloseBreakerOnceKeycloakRecovers() throws InterruptedException {
+    KeycloakTokenClient client = client(false);
+    openBreaker(client);
+    fallback = StubResponse.token("recovered", Duration.ZERO);
+
+    awaitState(CircuitBreaker.State.HALF_OPEN);
+    assertThat(client.refreshGrant("refresh").block().getAccessToken()).isEqualTo("recovered");
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    assertThat(client.refreshGrant("refresh").block().getAccessToken()).isEqualTo("recovered");
+
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void failedHalfOpenProbesReopenBreaker() throws InterruptedException {
+    KeycloakTokenClient client = client(false);
+    openBreaker(client);
+
+    awaitState(CircuitBreaker.State.HALF_OPEN);
+    int before = requests.get();
+    assertThat(catchError(client.refreshGrant("refresh")))
+        .isInstanceOf(WebClientResponseException.class);
+    assertThat(catchError(client.refreshGrant("refresh")))
+        .isInstanceOf(WebClientResponseException.class);
+
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(requests.get() - before).isEqualTo(2);
+    assertThat(catchError(client.refreshGrant("refresh")))
+        .isInstanceOf(ServiceUnavailableException.class);
+  }
+
+  @Test
+  void hedgeFiresAfterObservedP95AndFirstTokenWins() {
+    KeycloakTokenClient client = client(true);
+    fallback = StubResponse.token("warm", Duration.ofMillis(100));
+    for (int i = 0; i < 20; i++) {
+      client.refreshGrant(WARM_UP_TOKEN).block();
+    }
+    double hedgedBefore = hedged();
+    double p95Millis =
+        meterRegistry
+            .get("keycloak.client.refresh.latency")
+            .timer()
+            .takeSnapshot()
+            .percentileValues()[0]
+            .value(TimeUnit.MILLISECONDS);
+
+    scripted.add(StubResponse.token("slow", Duration.ofSeconds(3)));
+    scripted.add(StubResponse.token("hedge", Duration.ZERO));
+    long startNanos = System.nanoTime();
+    TokenResponse token = client.refreshGrant("refresh").block();
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+    assertThat(token.getAccessToken()).isEqualTo("hedge");
+    assertThat(hedged() - hedgedBefore).isEqualTo(1);
+    assertThat(elapsedMillis).isGreaterThanOrEqualTo((long) p95Millis - 10).isLessThan(2000);
+  }
+
+  @Test
+  void fastServerErrorDoesNotBeatHedge() {
+    KeycloakTokenClient client = client(true);
+    scripted.add(StubResponse.error(502, "bad_gateway", Duration.ZERO));
+    scripted.add(StubResponse.token("hedge", Duration.ZERO));
+
+    assertThat(client.refreshGrant("refresh").block().getAccessToken()).isEqualTo("hedge");
+    assertThat(hedged()).isEqualTo(1);
+  }
+
+  @Test
+  void clientErrorIsFinalAndCancelsHedge() {
+    KeycloakTokenClient client = client(true);
+    scripted.add(StubResponse.error(400, "invalid_grant", Duration.ZERO));
+
+    assertThat(KeycloakTokenClient.isInvalidGrant(catchError(client.refreshGrant("stale"))))
+        .isTrue();
+    assertThat(hedged()).isZero();
+    assertThat(requests).hasValue(1);
+  }
+
+  @Test
+  void firstRequestErrorSurfacesWhenBothRequestsFail() {
+    KeycloakTokenClient client = client(true);
+    scripted.add(StubResponse.error(500, "server_error", Duration.ZERO));
+    scripted.add(StubResponse.error(503, "unavailable", Duration.ZERO));
+
+    assertThat(catchError(client.refreshGrant("refresh")))
+        .isInstanceOf(WebClientResponseException.InternalServerError.class);
+    assertThat(requests).hasValue(2);
+  }
+
+  private StubResponse reply(String form) {
+    StubResponse stub = form.contains("refresh_token=" + WARM_UP_TOKEN) ? null : scripted.poll();
+    return stub != null ? stub : fallback;
+  }
+
+  private KeycloakTokenClient client(boolean hedgeRefresh) {
+    return new KeycloakTokenClient(
+        WebClient.create(),
+        WebClient.create(),
+        meterRegistry,
+        circuitBreaker,
+        hedgeRefresh,
+        "http://127.0.0.1:" + tokenEndpoint.port(),
+        "test",
+        "user-service",
+        "secret");
+  }
+
+  private void openBreaker(KeycloakTokenClient client) {
+    fallback = StubResponse.error(503, "unavailable", Duration.ZERO);
+    for (int i = 0; i < 4; i++) {
+      catchError(client.refreshGrant("refresh"));
+    }
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  private void awaitState(CircuitBreaker.State state) throws InterruptedException {
+    long deadline = System.nanoTime() + OPEN_DURATION.multipliedBy(10).toNanos();
+    while (circuitBreaker.getState() != state && System.nanoTime() < deadline) {
+      Thread.sleep(20);
+    }
+    assertThat(circuitBreaker.getState()).isEqualTo(state);
+  }
+
+  private double hedged() {
+    return meterRegistry.get("keycloak.client.refresh.hedged").counter().count();
+  }
+
+  private static Throwable catchError(Mono<?> call) {
+    return call.then(Mono.<Throwable>empty()).onErrorResume(Mono::just).block();
+  }
+
+  private record StubResponse(int status, String body, Duration delay) {
+
+    static StubResponse token(String accessToken, Duration delay) {
+      return new StubResponse(
+          200, "{\"access_token\":\"" + accessToken + "\",\"refresh_token\":\"next\"}", delay);
+    }
+
+    static StubResponse error(int status, String error, Duration delay) {
+      return new StubResponse(status, "{\"error\":\"" + error + "\"}", delay);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package com.shikshaspace.userservice.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import io.r2dbc.spi.R2dbcTransientResourceException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+class AdaptivePoolLimitTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AdaptivePoolLimit limit =
+      new AdaptivePoolLimit(
+          "test", 1, 1, 1, 1, Duration.ofMillis(20), Duration.ofHours(1), meterRegistry);
+
+  @AfterEach
+  void tearDown() {
+    limit.dispose();
+  }
+
+  @Test
+  void callersBeyondMaxWaitersAreRejected() {
+    limit.acquire().block();
+    AtomicBoolean queued = new AtomicBoolean();
+    limit.acquire().subscribe(permit -> {}, error -> {}, () -> queued.set(true));
+
+    assertThat(error(limit.acquire())).isInstanceOf(R2dbcTransientResourceException.class);
+
+    limit.release();
+    assertThat(queued).isTrue();
+  }
+
+  @Test
+  void cancelledWaiterGivesUpItsSlot() {
+    limit.acquire().block();
+    Disposable cancelled = limit.acquire().subscribe();
+    cancelled.dispose();
+
+    AtomicBoolean granted = new AtomicBoolean();
+    limit.acquire().subscribe(permit -> {}, error -> {}, () -> granted.set(true));
+    assertThat(granted).isFalse();
+
+    limit.release();
+    assertThat(granted).isTrue();
+  }
+
+  @Test
+  void maxAcquireTimeCoversTheWaitForAPermit() {
+    ConnectionPool pool = pool();
+    InstrumentedConnectionFactory factory =
+        new InstrumentedConnectionFactory(
+            "test", pool, Duration.ZERO, limit, Duration.ofMillis(100), meterRegistry);
+    limit.acquire().block();
+
+    assertThat(error(factory.create())).isInstanceOf(R2dbcTimeoutException.class);
+
+    // The timed-out caller left the queue, so the freed permit is still available
+    limit.release();
+    assertThat(error(limit.acquire())).isNull();
+    factory.close();
+  }
+
+  @Test
+  void instrumenterClosesWrapperWhenRawPoolIsDestroyed() {
+    StaticListableBeanFactory beans = new StaticListableBeanFactory();
+    beans.addBean("meterRegistry", meterRegistry);
+    MockEnvironment environment =
+        new MockEnvironment().withProperty("r2dbc.pool.adaptive.enabled", "true");
+    ConnectionPoolInstrumenter instrumenter =
+        new ConnectionPoolInstrumenter(beans.getBeanProvider(MeterRegistry.class), environment);
+    ConnectionPool pool = pool();
+
+    Object exposed = instrumenter.postProcessAfterInitialization(pool, "connectionFactory");
+    assertThat(exposed).isInstanceOf(InstrumentedConnectionFactory.class);
+    assertThat(instrumenter.requiresDestruction(pool)).isTrue();
+
+    instrumenter.postProcessBeforeDestruction(pool, "connectionFactory");
+    assertThat(pool.isDisposed()).isTrue();
+  }
+
+  private static ConnectionPool pool() {
+    return new ConnectionPool(
+        ConnectionPoolConfiguration.builder(new NeverConnectingFactory())
+            .initialSize(0)
+            .maxSize(1)
+            .build());
+  }
+
+  private static Throwable error(Mono<?> call) {
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    call.onErrorResume(
+            failure -> {
+              error.set(failure);
+              return Mono.empty();
+            })
+        .block(Duration.ofSeconds(5));
+    return error.get();
+  }
+
+  private static final class NeverConnectingFactory implements ConnectionFactory {
+
+    @Override
+    public Publisher<? extends Connection> create() {
+      return Mono.never();
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+      return () -> "never";
+    }
+  }
+}
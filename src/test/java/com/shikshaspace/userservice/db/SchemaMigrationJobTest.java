@@ -0,0 +1,24 @@
+package com.shikshaspace.userservice.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SchemaMigrationJobTest {
+
+  @Test
+  void selectedByMigrateProfile() {
+    assertThat(SchemaMigrationJob.isRequested(new String[] {"--spring.profiles.active=migrate"}))
+        .isTrue();
+    assertThat(
+            SchemaMigrationJob.isRequested(new String[] {"--spring.profiles.active=prod,migrate"}))
+        .isTrue();
+  }
+
+  @Test
+  void servingStartIsNotTheJob() {
+    assertThat(SchemaMigrationJob.isRequested(new String[0])).isFalse();
+    assertThat(SchemaMigrationJob.isRequested(new String[] {"--spring.profiles.active=prod"}))
+        .isFalse();
+  }
+}
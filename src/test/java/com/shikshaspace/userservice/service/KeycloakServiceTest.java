@@ -0,0 +1,81 @@
+package com.shikshaspace.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.shikshaspace.userservice.client.KeycloakAdminClient;
+import com.shikshaspace.userservice.exception.ServiceUnavailableException;
+import com.shikshaspace.userservice.metrics.FlowMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.keycloak.admin.client.Keycloak;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/** Blocking admin calls shed by a full {@code keycloakAdminScheduler} bulkhead. */
+class KeycloakServiceTest {
+
+  private final Keycloak keycloak = mock(Keycloak.class);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final ThreadPoolExecutor executor =
+      new ThreadPoolExecutor(
+          1,
+          1,
+          60,
+          TimeUnit.SECONDS,
+          new ArrayBlockingQueue<>(1),
+          new ThreadPoolExecutor.AbortPolicy());
+  private final KeycloakService service =
+      new KeycloakService(
+          keycloak,
+          mock(KeycloakAdminClient.class),
+          Schedulers.fromExecutorService(executor, "keycloak-admin"),
+          new FlowMetrics(new SimpleMeterRegistry()));
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(service, "realm", "test");
+    ReflectionTestUtils.setField(service, "reactiveEnabled", false);
+    // One call running and one queued: the bulkhead is full
+    executor.execute(this::awaitRelease);
+    executor.execute(this::awaitRelease);
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  void fullBulkheadFailsWith503AndRetryAfter() {
+    Throwable error =
+        service
+            .findUserByUsername("asha")
+            .then(Mono.<Throwable>empty())
+            .onErrorResume(Mono::just)
+            .block(Duration.ofSeconds(5));
+
+    assertThat(error).isInstanceOf(ServiceUnavailableException.class);
+    assertThat(((ServiceUnavailableException) error).getRetryAfter())
+        .isEqualTo(Duration.ofSeconds(1));
+    verifyNoInteractions(keycloak);
+  }
+
+  private void awaitRelease() {
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
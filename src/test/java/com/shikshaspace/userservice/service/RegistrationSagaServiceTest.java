@@ -0,0 +1,106 @@
+package com.shikshaspace.userservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.shikshaspace.userservice.domain.RegistrationSaga;
+import com.shikshaspace.userservice.domain.RegistrationSaga.Status;
+import com.shikshaspace.userservice.domain.User;
+import com.shikshaspace.userservice.metrics.FlowMetrics;
+import com.shikshaspace.userservice.repository.RegistrationSagaRepository;
+import com.shikshaspace.userservice.repository.UserRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/** Recovery of sagas whose Keycloak create has an unknown outcome. */
+class RegistrationSagaServiceTest {
+
+  private final RegistrationSagaRepository sagaRepository = mock(RegistrationSagaRepository.class);
+  private final UserRepository userRepository = mock(UserRepository.class);
+  private final KeycloakService keycloakService = mock(KeycloakService.class);
+  private final RegistrationSagaService service =
+      new RegistrationSagaService(
+          sagaRepository,
+          userRepository,
+          keycloakService,
+          mock(TransactionalOperator.class),
+          mock(FlowMetrics.class));
+
+  private final UUID keycloakId = UUID.randomUUID();
+  private final LocalDateTime sagaCreatedAt = LocalDateTime.now().minusSeconds(30);
+  private RegistrationSaga saga;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(service, "staleAfter", Duration.ofMinutes(2));
+    ReflectionTestUtils.setField(service, "maxBackoff", Duration.ofMinutes(10));
+    saga =
+        RegistrationSaga.builder()
+            .id(UUID.randomUUID())
+            .username("asha")
+            .email("asha@example.com")
+            .status(Status.PENDING)
+            .attempts(0)
+            .createdAt(sagaCreatedAt)
+            .build();
+    when(sagaRepository.save(any(RegistrationSaga.class)))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    when(keycloakService.deleteUser(any())).thenReturn(Mono.empty());
+  }
+
+  @Test
+  void orphanCreatedBySagaIsDeleted() {
+    keycloakUser(sagaCreatedAt.plusSeconds(1));
+    when(userRepository.findByKeycloakId(keycloakId)).thenReturn(Mono.empty());
+
+    service.recover(saga).block();
+
+    verify(keycloakService).deleteUser(keycloakId);
+    assertThat(saga.getStatus()).isEqualTo(Status.COMPENSATED);
+  }
+
+  @Test
+  void userOwnedByExistingAccountIsKept() {
+    keycloakUser(sagaCreatedAt.plusSeconds(1));
+    when(userRepository.findByKeycloakId(keycloakId))
+        .thenReturn(Mono.just(User.builder().keycloakId(keycloakId).build()));
+
+    service.recover(saga).block();
+
+    verify(keycloakService, never()).deleteUser(any());
+    assertThat(saga.getStatus()).isEqualTo(Status.FAILED);
+    assertThat(saga.getKeycloakId()).isNull();
+  }
+
+  @Test
+  void userOlderThanSagaIsKept() {
+    keycloakUser(sagaCreatedAt.minusDays(3));
+    when(userRepository.findByKeycloakId(keycloakId)).thenReturn(Mono.empty());
+
+    service.recover(saga).block();
+
+    verify(keycloakService, never()).deleteUser(any());
+    assertThat(saga.getStatus()).isEqualTo(Status.FAILED);
+  }
+
+  private void keycloakUser(LocalDateTime createdAt) {
+    UserRepresentation user = new UserRepresentation();
+    user.setId(keycloakId.toString());
+    user.setUsername("asha");
+    user.setEmail("Asha@example.com");
+    user.setCreatedTimestamp(createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    when(keycloakService.findUserByUsername("asha")).thenReturn(Mono.just(user));
+  }
+}
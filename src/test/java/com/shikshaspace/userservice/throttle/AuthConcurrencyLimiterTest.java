@@ -0,0 +1,80 @@
+package com.shikshaspace.userservice.throttle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shikshaspace.userservice.exception.KeycloakException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+class AuthConcurrencyLimiterTest {
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private final AuthConcurrencyLimiter limiter =
+      new AuthConcurrencyLimiter(
+          meterRegistry,
+          true,
+          10,
+          4,
+          100,
+          0.5,
+          Duration.ofSeconds(3),
+          Duration.ofSeconds(1),
+          Duration.ofSeconds(1),
+          Duration.ofSeconds(2));
+
+  @Test
+  void wrappedTimeoutShrinksOnlyItsOwnFlow() {
+    Mono<Object> timedOut =
+        Mono.error(
+            new KeycloakException("Registration failed: timeout", new TimeoutException("slow")));
+
+    limiter.execute(AuthConcurrencyLimiter.REGISTER, () -> timedOut).onErrorComplete().block();
+
+    assertThat(limit(AuthConcurrencyLimiter.REGISTER)).isEqualTo(5);
+    assertThat(limit(AuthConcurrencyLimiter.LOGIN)).isEqualTo(10);
+  }
+
+  @Test
+  void supplierThatThrowsReleasesItsPermit() {
+    for (int i = 0; i < 20; i++) {
+      limiter
+          .execute(
+              AuthConcurrencyLimiter.LOGIN,
+              () -> {
+                throw new IllegalStateException("failed before subscribing");
+              })
+          .onErrorComplete()
+          .block();
+    }
+
+    assertThat(inFlight(AuthConcurrencyLimiter.LOGIN)).isZero();
+    assertThat(limiter.execute(AuthConcurrencyLimiter.LOGIN, () -> Mono.just("ok")).block())
+        .isEqualTo("ok");
+  }
+
+  @Test
+  void isTimeoutWalksTheCauseChain() {
+    assertThat(AuthConcurrencyLimiter.isTimeout(new TimeoutException())).isTrue();
+    assertThat(
+            AuthConcurrencyLimiter.isTimeout(
+                new KeycloakException(
+                    "Google sign-in failed", new RuntimeException(new TimeoutException()))))
+        .isTrue();
+    assertThat(AuthConcurrencyLimiter.isTimeout(new KeycloakException("Invalid credentials")))
+        .isFalse();
+    assertThat(AuthConcurrencyLimiter.isTimeout(null)).isFalse();
+  }
+
+  private double inFlight(String flow) {
+    return meterRegistry.get("auth.concurrency.inflight").tag("flow", flow).gauge().value();
+  }
+
+  private double limit(String flow) {
+    return meterRegistry.get("auth.concurrency.limit").tag("flow", flow).gauge().value();
+  }
+}